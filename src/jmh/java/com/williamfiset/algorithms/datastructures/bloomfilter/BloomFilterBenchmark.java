@@ -0,0 +1,96 @@
+/**
+ * JMH benchmark comparing membership tests in the classic BloomFilter, which touches one cache line
+ * per hash function, against the BlockedBloomFilter which touches a single cache line per key.
+ * Half of the queried keys are in the filter.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=BloomFilterBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BloomFilterBenchmark {
+
+  // Prime bitset sizes for the classic bloom filter, roughly 10 bits per key per hash function
+  private static final int[] MODS = {10000019, 10000079, 10000103};
+
+  @Param({"1000000"})
+  int keys;
+
+  long[][] queryHashes;
+  long[] queryKeys;
+  boolean[] results;
+
+  BloomFilter classic;
+  BlockedBloomFilter blocked;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5eed);
+    classic = new BloomFilter(MODS);
+    blocked = new BlockedBloomFilter(3L * MODS[0], MODS.length);
+
+    queryKeys = new long[2 * keys];
+    queryHashes = new long[2 * keys][];
+    for (int i = 0; i < queryKeys.length; i++) {
+      queryKeys[i] = random.nextLong();
+      queryHashes[i] = hashes(queryKeys[i]);
+      if (i % 2 == 0) {
+        classic.add(queryHashes[i]);
+        blocked.add(queryKeys[i]);
+      }
+    }
+    results = new boolean[queryKeys.length];
+  }
+
+  private static long[] hashes(long key) {
+    long[] hashes = new long[MODS.length];
+    for (int i = 0; i < MODS.length; i++) {
+      long h = (key ^ (key >>> 29)) * (0x9E3779B97F4A7C15L + 2 * i);
+      hashes[i] = Long.remainderUnsigned(h ^ (h >>> 32), MODS[i]);
+    }
+    return hashes;
+  }
+
+  @Benchmark
+  public int classicContains() {
+    int found = 0;
+    for (long[] hashes : queryHashes) if (classic.contains(hashes)) found++;
+    return found;
+  }
+
+  @Benchmark
+  public int blockedContains() {
+    int found = 0;
+    for (long key : queryKeys) if (blocked.contains(key)) found++;
+    return found;
+  }
+
+  @Benchmark
+  public int blockedContainsAll() {
+    return blocked.containsAll(queryKeys, results);
+  }
+}
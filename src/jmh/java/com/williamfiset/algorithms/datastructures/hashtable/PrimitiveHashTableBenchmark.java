@@ -0,0 +1,83 @@
+/**
+ * JMH benchmark comparing the primitive IntIntHashTable against the generic open addressing hash
+ * tables and java.util.HashMap on a mixed insert/lookup workload with int keys.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=PrimitiveHashTableBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveHashTableBenchmark {
+
+  @Param({"10000", "1000000"})
+  int size;
+
+  @Param({"LINEAR", "QUADRATIC", "DOUBLE_HASHING"})
+  ProbingMethod probing;
+
+  int[] keys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5eed);
+    keys = new int[size];
+    for (int i = 0; i < size; i++) keys[i] = random.nextInt();
+  }
+
+  @Benchmark
+  public long intIntHashTable() {
+    IntIntHashTable map = new IntIntHashTable(16, probing);
+    long sum = 0;
+    for (int key : keys) map.put(key, key);
+    for (int key : keys) sum += map.get(key);
+    return sum;
+  }
+
+  // HashTableDoubleHashing only accepts SecondaryHash keys, so the double hashing
+  // configuration is compared against linear probing for the boxed tables.
+  @Benchmark
+  public long openAddressingHashTable() {
+    HashTableOpenAddressingBase<Integer, Integer> map =
+        probing == ProbingMethod.QUADRATIC
+            ? new HashTableQuadraticProbing<>()
+            : new HashTableLinearProbing<>();
+    long sum = 0;
+    for (int key : keys) map.insert(key, key);
+    for (int key : keys) sum += map.get(key);
+    return sum;
+  }
+
+  @Benchmark
+  public long javaHashMap() {
+    HashMap<Integer, Integer> map = new HashMap<>();
+    long sum = 0;
+    for (int key : keys) map.put(key, key);
+    for (int key : keys) sum += map.get(key);
+    return sum;
+  }
+}
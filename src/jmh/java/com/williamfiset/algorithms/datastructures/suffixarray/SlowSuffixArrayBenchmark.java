@@ -0,0 +1,57 @@
+/**
+ * JMH benchmark including SuffixArraySlow in the comparison of {@link SuffixArrayBenchmark}. This
+ * is kept separate because SuffixArraySlow cannot finish on the larger input sizes in a reasonable
+ * amount of time.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=SlowSuffixArrayBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SlowSuffixArrayBenchmark {
+
+  @Param({"1000", "10000"})
+  int size;
+
+  @Param({"DNA", "LETTERS", "REPETITIVE"})
+  SuffixArrayBenchmark.Text text;
+
+  @Param({"SLOW", "MED", "FAST", "SAIS"})
+  SuffixArrayBenchmark.Implementation implementation;
+
+  int[] input;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    input = text.generate(size, new Random(0x5eed));
+  }
+
+  @Benchmark
+  public int[] construct() {
+    return implementation.create(input).getSa();
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * JMH benchmark comparing the suffix array construction algorithms on random texts over a small
+ * (DNA-like) and a larger alphabet, and on a highly repetitive text. SuffixArraySlow is benchmarked
+ * separately in {@link SlowSuffixArrayBenchmark} since its running time is quadratic on repetitive
+ * texts.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=SuffixArrayBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SuffixArrayBenchmark {
+
+  public enum Implementation {
+    SLOW,
+    MED,
+    FAST,
+    SAIS;
+
+    SuffixArray create(int[] text) {
+      switch (this) {
+        case SLOW:
+          return new SuffixArraySlow(text);
+        case MED:
+          return new SuffixArrayMed(text);
+        case FAST:
+          return new SuffixArrayFast(text);
+        default:
+          return new SuffixArraySais(text);
+      }
+    }
+  }
+
+  public enum Text {
+    // Uniformly random characters from 'ACGT'
+    DNA,
+    // Uniformly random lowercase letters
+    LETTERS,
+    // A random block of 100 letters repeated over and over
+    REPETITIVE;
+
+    int[] generate(int n, Random random) {
+      int[] text = new int[n];
+      for (int i = 0; i < n; i++) {
+        switch (this) {
+          case DNA:
+            text[i] = "ACGT".charAt(random.nextInt(4));
+            break;
+          case LETTERS:
+            text[i] = 'a' + random.nextInt(26);
+            break;
+          default:
+            text[i] = i < 100 ? 'a' + random.nextInt(26) : text[i - 100];
+        }
+      }
+      return text;
+    }
+  }
+
+  @Param({"100000", "1000000"})
+  int size;
+
+  @Param({"DNA", "LETTERS", "REPETITIVE"})
+  Text text;
+
+  @Param({"MED", "FAST", "SAIS"})
+  Implementation implementation;
+
+  int[] input;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    input = text.generate(size, new Random(0x5eed));
+  }
+
+  @Benchmark
+  public int[] construct() {
+    return implementation.create(input).getSa();
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * JMH benchmark comparing the sequential breadth first search on a CSR graph with the parallel
+ * direction optimizing search, on a random graph with a small diameter (like a social network)
+ * and on a long cycle where every level holds a single node.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=BreadthFirstSearchBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BreadthFirstSearchBenchmark {
+
+  private static final int NODES = 1 << 21;
+
+  @Param({"random", "cycle"})
+  String shape;
+
+  CsrGraph graph;
+  DirectionOptimizingBreadthFirstSearch search;
+  int[] prev;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    CsrGraph.Builder builder = new CsrGraph.Builder(NODES);
+    if (shape.equals("random")) {
+      Random random = new Random(0x5eed);
+      for (int i = 0; i < 8 * NODES; i++) {
+        builder.addUndirectedEdge(random.nextInt(NODES), random.nextInt(NODES));
+      }
+    } else {
+      for (int i = 0; i < NODES; i++) builder.addDirectedEdge(i, (i + 1) % NODES);
+    }
+    graph = builder.build();
+    search = new DirectionOptimizingBreadthFirstSearch(graph);
+    prev = new int[NODES];
+  }
+
+  @Benchmark
+  public int[] sequential() {
+    return BreadthFirstSearchAdjacencyListIterative.bfs(graph, 0, prev);
+  }
+
+  @Benchmark
+  public int[] directionOptimizing() {
+    return search.bfs(0, prev);
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * JMH benchmark of a batch of random point to point shortest path queries on a grid shaped graph
+ * (like a road network), answered by the allocating CSR Dijkstra one query at a time and by the
+ * query engine on one thread and in parallel.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=DijkstraQueryBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DijkstraQueryBenchmark {
+
+  private static final int SIDE = 1000, QUERIES = 1000, MAX_HOPS = 30;
+
+  CsrGraph graph;
+  DijkstraQueryEngine engine;
+  int[] sources, targets;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5eed);
+    CsrGraph.Builder builder = new CsrGraph.Builder(SIDE * SIDE);
+    for (int r = 0; r < SIDE; r++) {
+      for (int c = 0; c < SIDE; c++) {
+        int u = r * SIDE + c;
+        if (c + 1 < SIDE) builder.addUndirectedEdge(u, u + 1, 1 + random.nextInt(10));
+        if (r + 1 < SIDE) builder.addUndirectedEdge(u, u + SIDE, 1 + random.nextInt(10));
+      }
+    }
+    graph = builder.build();
+    engine = new DijkstraQueryEngine(graph);
+
+    // Local queries, the common case for routing, where clearing O(n) arrays dominates
+    sources = new int[QUERIES];
+    targets = new int[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      int r = random.nextInt(SIDE - MAX_HOPS), c = random.nextInt(SIDE - MAX_HOPS);
+      sources[i] = r * SIDE + c;
+      targets[i] = (r + random.nextInt(MAX_HOPS)) * SIDE + c + random.nextInt(MAX_HOPS);
+    }
+  }
+
+  @Benchmark
+  public double allocatingDijkstra() {
+    double sum = 0;
+    for (int i = 0; i < QUERIES; i++) {
+      sum += DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, sources[i], targets[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double engineSequential() {
+    double sum = 0;
+    for (int i = 0; i < QUERIES; i++) sum += engine.distance(sources[i], targets[i]);
+    return sum;
+  }
+
+  @Benchmark
+  public double[] engineBatch() {
+    return engine.distances(sources, targets);
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Input distributions used by the sorting benchmarks. Every distribution produces non-negative
+ * values in the range [0, n) so that the non-comparison sorts (counting, bucket and radix sort)
+ * can be measured on the same inputs as the comparison based ones.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Random;
+
+public enum Distribution {
+
+  // Uniformly random values in [0, n)
+  RANDOM {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = ar.length;
+      for (int i = 0; i < n; i++) ar[i] = random.nextInt(n);
+    }
+  },
+
+  // Strictly increasing values 0, 1, 2, ..., n-1
+  SORTED {
+    @Override
+    void fill(int[] ar, Random random) {
+      for (int i = 0; i < ar.length; i++) ar[i] = i;
+    }
+  },
+
+  // Strictly decreasing values n-1, n-2, ..., 0
+  REVERSED {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = ar.length;
+      for (int i = 0; i < n; i++) ar[i] = n - i - 1;
+    }
+  },
+
+  // Random values drawn from a tiny set of distinct keys
+  FEW_UNIQUE {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = ar.length, k = Math.min(n, FEW_UNIQUE_KEYS);
+      for (int i = 0; i < n; i++) ar[i] = random.nextInt(k);
+    }
+  },
+
+  // Skewed values where the probability of value x is roughly proportional to 1/(x+1), which
+  // approximates a Zipfian distribution with exponent s = 1. Sampling is done by inverting the
+  // continuous CDF so that generating 100M values stays fast.
+  ZIPFIAN {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = ar.length;
+      double logN = Math.log(n);
+      for (int i = 0; i < n; i++) {
+        int value = (int) Math.exp(random.nextDouble() * logN) - 1;
+        ar[i] = Math.min(Math.max(value, 0), n - 1);
+      }
+    }
+  };
+
+  private static final int FEW_UNIQUE_KEYS = 16;
+
+  // Fills the array with values from this distribution
+  abstract void fill(int[] ar, Random random);
+
+  // Creates a new array of size n with values from this distribution. A fixed seed is used so
+  // that every algorithm in a benchmark run is measured against identical inputs.
+  public int[] generate(int n, long seed) {
+    int[] ar = new int[n];
+    fill(ar, new Random(seed));
+    return ar;
+  }
+}
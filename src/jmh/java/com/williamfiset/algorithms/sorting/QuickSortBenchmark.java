@@ -0,0 +1,59 @@
+/**
+ * JMH benchmark for the plain {@link QuickSort}. It is kept separate from {@link SortingBenchmark}
+ * because its partitioning picks the first element as pivot, which makes it O(n^2) on the sorted
+ * and reversed distributions (with a recursion as deep as the input is long) so it cannot finish
+ * on the larger input sizes in a reasonable amount of time.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=QuickSortBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xss64m"})
+public class QuickSortBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ZIPFIAN"})
+  Distribution distribution;
+
+  InplaceSort sorter;
+  int[] input, values;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    sorter = SortingAlgorithm.QUICK_SORT.getSortingAlgorithm();
+    input = distribution.generate(size, SortingBenchmark.SEED);
+    values = new int[size];
+  }
+
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, values, 0, size);
+    sorter.sort(values);
+    return values;
+  }
+}
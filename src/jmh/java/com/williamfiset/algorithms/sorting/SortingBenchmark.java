@@ -0,0 +1,79 @@
+/**
+ * JMH benchmark for the O(nlog(n)) and linear time {@link InplaceSort} implementations across a
+ * range of input sizes and distributions.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=SortingBenchmark
+ *
+ * <p>Note that sorting 100M integers requires a few GB of heap for the algorithms which are not
+ * truly inplace (mergesort and bucket sort in particular). The plain quicksort is benchmarked
+ * separately by {@link QuickSortBenchmark}.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-Xss64m"})
+public class SortingBenchmark {
+
+  static final long SEED = 0x5eed;
+
+  @Param({"1000", "100000", "10000000", "100000000"})
+  int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ZIPFIAN"})
+  Distribution distribution;
+
+  @Param({
+    "BUCKET_SORT",
+    "COUNTING_SORT",
+    "HEAP_SORT",
+    "LSD_RADIX_SORT",
+    "MERGE_SORT",
+    "PARALLEL_MERGE_SORT",
+    "PARALLEL_QUICK_SORT3",
+    "QUICK_SORT3",
+    "RADIX_SORT",
+    "JAVA_ARRAYS_SORT"
+  })
+  SortingAlgorithm algorithm;
+
+  InplaceSort sorter;
+  int[] input, values;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    sorter = algorithm.getSortingAlgorithm();
+    input = distribution.generate(size, SEED);
+    values = new int[size];
+  }
+
+  // Every invocation restores the unsorted input before sorting. The O(n) copy is included in the
+  // measurement but is negligible compared to the sort itself and is the same for all algorithms.
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, values, 0, size);
+    sorter.sort(values);
+    return values;
+  }
+}
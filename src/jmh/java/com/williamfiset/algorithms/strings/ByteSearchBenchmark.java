@@ -0,0 +1,78 @@
+/**
+ * JMH benchmark comparing the char based Boyer-Moore search with the byte based search (word at a
+ * time scan for short patterns, Boyer-Moore-Horspool for longer ones) on the same random text.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pjmh.include=ByteSearchBenchmark
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.strings;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ByteSearchBenchmark {
+
+  private static final int TEXT_SIZE = 1 << 24;
+
+  @Param({"3", "7", "16", "64"})
+  int patternLength;
+
+  final BoyerMooreStringSearch searcher = new BoyerMooreStringSearch();
+
+  String text, pattern;
+  byte[] textBytes, patternBytes;
+  ByteBuffer directText;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5eed);
+    StringBuilder sb = new StringBuilder(TEXT_SIZE);
+    for (int i = 0; i < TEXT_SIZE; i++) sb.append((char) ('a' + random.nextInt(26)));
+    text = sb.toString();
+    // A pattern taken from the end of the text, so the whole text is scanned
+    pattern = text.substring(TEXT_SIZE - patternLength);
+    textBytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    patternBytes = pattern.getBytes(StandardCharsets.ISO_8859_1);
+    directText = ByteBuffer.allocateDirect(TEXT_SIZE);
+    directText.put(textBytes).flip();
+  }
+
+  @Benchmark
+  public List<Integer> chars() {
+    return searcher.findOccurrences(text, pattern);
+  }
+
+  @Benchmark
+  public List<Integer> bytes() {
+    return searcher.findByteOccurrences(textBytes, patternBytes);
+  }
+
+  @Benchmark
+  public int directBuffer() {
+    return searcher.indexOf(directText, 0, patternBytes);
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * A blocked bloom filter implementation. A classic bloom filter sets k bits spread over the whole
+ * bit array (or over k separate bitsets, see {@link BloomFilter}), so every membership test touches
+ * k different cache lines. A blocked bloom filter first picks a single 512 bit block (8 longs, the
+ * size of a typical 64 byte cache line) and then sets all k bits of the key inside that block, so
+ * adding or testing a key costs a single cache miss.
+ *
+ * <p>The price is a slightly higher false positive rate than a classic bloom filter of the same
+ * size, because the keys are not perfectly evenly spread over the blocks. Give the filter around
+ * 10-20% more bits to compensate.
+ *
+ * <p>Blocks are aligned relative to the start of the backing array. The JVM does not let us align
+ * heap arrays to cache lines, but a block never spans more than two cache lines.
+ *
+ * <p>Keys are given either as a single 64 bit hash or, like in {@link BloomFilter}, as an array of
+ * hash values for the same key which get folded together into one 64 bit hash.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+public class BlockedBloomFilter {
+
+  // A block is 8 longs, i.e. 512 bits or 64 bytes
+  private static final int BLOCK_SHIFT = 3;
+  private static final int BLOCK_BITS = 512;
+  private static final int BIT_MASK = BLOCK_BITS - 1;
+
+  // The number of keys whose first bit is tested before the rest of their bits when doing batch
+  // lookups. The first pass loads one word from the block of each key with no branch depending on
+  // the previous loads, so the CPU can have the cache misses of all the keys in flight at once.
+  private static final int BATCH_SIZE = 16;
+
+  // The number of bits set for every key
+  private final int K;
+
+  private final int numBlocks;
+  private final long[] bits;
+
+  // numBits - The approximate number of bits in the filter, rounded up to a multiple of 512
+  // k - The number of bits set per key, log(2) * numBits / expectedKeys is optimal
+  public BlockedBloomFilter(long numBits, int k) {
+    if (numBits <= 0) throw new IllegalArgumentException("Illegal number of bits: " + numBits);
+    if (k <= 0 || k > BLOCK_BITS) throw new IllegalArgumentException("Illegal k: " + k);
+    long blocks = (numBits + BLOCK_BITS - 1) / BLOCK_BITS;
+    if (blocks > Integer.MAX_VALUE >> BLOCK_SHIFT)
+      throw new IllegalArgumentException("Too many bits: " + numBits);
+    K = k;
+    numBlocks = (int) blocks;
+    bits = new long[numBlocks << BLOCK_SHIFT];
+  }
+
+  // Returns the number of bits in this bloom filter
+  public long size() {
+    return (long) bits.length * Long.SIZE;
+  }
+
+  // Returns the number of bits set per key
+  public int getK() {
+    return K;
+  }
+
+  // Scrambles the bits of a hash value (the murmur3 64 bit finalizer) so
+  // that poor hash functions still spread keys evenly over the blocks.
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  // Folds the hash values of a key into a single 64 bit hash
+  private static long fold(long[] hashes) {
+    long h = 0;
+    for (long hash : hashes) h = mix(h ^ hash);
+    return h;
+  }
+
+  // Returns the index of the first long of the block for an already mixed hash. The upper
+  // 32 bits select the block and the lower 32 bits select the bits within the block.
+  private int blockOffset(long h) {
+    return (int) (((h >>> 32) * numBlocks) >>> 32) << BLOCK_SHIFT;
+  }
+
+  private void addMixed(long h) {
+    int offset = blockOffset(h);
+    int bit = (int) h, step = ((int) h >>> 9) | 1;
+    for (int i = 0; i < K; i++, bit += step) {
+      int b = bit & BIT_MASK;
+      bits[offset + (b >>> 6)] |= 1L << b;
+    }
+  }
+
+  // Tests only the first of the k bits of the key
+  private boolean firstBitSet(long h, int offset) {
+    int b = (int) h & BIT_MASK;
+    return (bits[offset + (b >>> 6)] & (1L << b)) != 0;
+  }
+
+  private boolean containsMixed(long h, int offset) {
+    int bit = (int) h, step = ((int) h >>> 9) | 1;
+    for (int i = 0; i < K; i++, bit += step) {
+      int b = bit & BIT_MASK;
+      if ((bits[offset + (b >>> 6)] & (1L << b)) == 0) return false;
+    }
+    return true;
+  }
+
+  // Adds a key with the given 64 bit hash to the bloom filter
+  public void add(long hash) {
+    addMixed(mix(hash));
+  }
+
+  // Adds a key given the hash values of all the hash functions applied to it
+  public void add(long[] hashes) {
+    addMixed(fold(hashes));
+  }
+
+  // Checks if the key with the given 64 bit hash may be in the bloom filter
+  public boolean contains(long hash) {
+    long h = mix(hash);
+    return containsMixed(h, blockOffset(h));
+  }
+
+  public boolean contains(long[] hashes) {
+    long h = fold(hashes);
+    return containsMixed(h, blockOffset(h));
+  }
+
+  // Adds every key in the batch, each key given as a single 64 bit hash
+  public void addAll(long[] hashes) {
+    for (long hash : hashes) addMixed(mix(hash));
+  }
+
+  // Adds every key in the batch, each key given as an array of hash values
+  public void addAll(long[][] keyHashes) {
+    for (long[] hashes : keyHashes) addMixed(fold(hashes));
+  }
+
+  // Tests every key in the batch, setting results[i] to whether the i'th key may be
+  // in the bloom filter. Returns the number of keys which may be in the filter.
+  public int containsAll(long[] hashes, boolean[] results) {
+    if (results.length < hashes.length) throw new IllegalArgumentException("results too small");
+    int found = 0;
+    for (int lo = 0; lo < hashes.length; lo += BATCH_SIZE) {
+      int hi = Math.min(lo + BATCH_SIZE, hashes.length);
+      for (int i = lo; i < hi; i++) {
+        long h = mix(hashes[i]);
+        results[i] = firstBitSet(h, blockOffset(h));
+      }
+      // The blocks are now in cache. Recomputing the hashes is cheaper than keeping them in a
+      // scratch array.
+      for (int i = lo; i < hi; i++) {
+        if (!results[i]) continue;
+        long h = mix(hashes[i]);
+        if (results[i] = containsMixed(h, blockOffset(h))) found++;
+      }
+    }
+    return found;
+  }
+
+  public int containsAll(long[][] keyHashes, boolean[] results) {
+    if (results.length < keyHashes.length)
+      throw new IllegalArgumentException("results too small");
+    int found = 0;
+    for (int lo = 0; lo < keyHashes.length; lo += BATCH_SIZE) {
+      int hi = Math.min(lo + BATCH_SIZE, keyHashes.length);
+      for (int i = lo; i < hi; i++) {
+        long h = fold(keyHashes[i]);
+        results[i] = firstBitSet(h, blockOffset(h));
+      }
+      for (int i = lo; i < hi; i++) {
+        if (!results[i]) continue;
+        long h = fold(keyHashes[i]);
+        if (results[i] = containsMixed(h, blockOffset(h))) found++;
+      }
+    }
+    return found;
+  }
+
+  // Returns the fraction of bits which are set, useful to estimate the false positive rate
+  public double fillRatio() {
+    long count = 0;
+    for (long word : bits) count += Long.bitCount(word);
+    return (double) count / size();
+  }
+
+  public void clear() {
+    java.util.Arrays.fill(bits, 0L);
+  }
+}
@@ -1,10 +1,29 @@
 /**
  * A generic bloom filter implementation that supports any hash function(s)
  *
+ * <p>Bloom filters can be saved to a compact binary snapshot and loaded back, either into memory or
+ * as a read-only filter memory-mapped from the snapshot file, which makes startup near instant and
+ * lets multiple processes share the same pages. The snapshot contains a header with the number of
+ * bitsets and their sizes, padded to a multiple of 8 bytes, followed by the words of each bitset.
+ * All values are big-endian.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.datastructures.bloomfilter;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
 public class BloomFilter {
 
   // The number of bitsets. This should be proportional
@@ -23,16 +42,48 @@ public class BloomFilter {
   // Doing 'n >> 6' is the same as dividing by 64, but faster
   private static final long DIV64_SHIFT = 6;
 
+  // Snapshot file format identifiers, MAGIC spells "BLOM"
+  static final int MAGIC = 0x424C4F4D, VERSION = 1;
+  static final int IO_BUFFER_SIZE = 1 << 16;
+
   // Create a bloom filter with a various bitsets of different sizes
   public BloomFilter(int[] bitSetSizes) {
     N_SETS = bitSetSizes.length;
     SET_SIZES = bitSetSizes.clone();
     bitsets = new long[N_SETS][];
     for (int i = 0; i < N_SETS; i++) {
-      bitsets[i] = new long[SET_SIZES[i]];
+      bitsets[i] = new long[wordsInSet(SET_SIZES[i])];
     }
   }
 
+  // Used by subclasses which keep their bitsets somewhere other than the heap
+  BloomFilter(int[] bitSetSizes, long[][] bitsets) {
+    N_SETS = bitSetSizes.length;
+    SET_SIZES = bitSetSizes.clone();
+    this.bitsets = bitsets;
+  }
+
+  // Returns the number of bits in each bitset
+  public int[] getSetSizes() {
+    return SET_SIZES.clone();
+  }
+
+  // Returns the 'index'th word (group of 64 bits) of a bitset
+  long word(int setIndex, int index) {
+    return bitsets[setIndex][index];
+  }
+
+  // Returns the number of words needed to store a bitset of the given size
+  static int wordsInSet(int setSize) {
+    return (setSize + 63) >>> DIV64_SHIFT;
+  }
+
+  // Returns the size of the snapshot header, which is padded so that the bitsets
+  // start at a multiple of 8 bytes and can be mapped as longs.
+  static int headerSize(int nSets) {
+    return (12 + 4 * nSets + 7) & ~7;
+  }
+
   // Add a hash value to one of the bitsets in the bloom filter
   public void add(int setIndex, long hash) {
     hash = hash % SET_SIZES[setIndex];
@@ -52,13 +103,103 @@ public class BloomFilter {
   // Checks if a particular key is found within the bloom filter
   public boolean contains(long[] hashes) {
     for (int i = 0; i < hashes.length; i++) {
-      int block = (int) (hashes[i] >> DIV64_SHIFT);
-      long MASK = 1L << (hashes[i] & MOD64_MASK);
+      long hash = hashes[i] % SET_SIZES[i];
+      int block = (int) (hash >> DIV64_SHIFT);
+      long MASK = 1L << (hash & MOD64_MASK);
       if ((bitsets[i][block] & MASK) != MASK) return false;
     }
     return true;
   }
 
+  // Adds a batch of keys, each key given as the group of hash values described above
+  public void addAll(long[][] keyHashes) {
+    for (long[] hashes : keyHashes) add(hashes);
+  }
+
+  // Checks a batch of keys, setting results[i] to whether the i'th key may be
+  // in the bloom filter. Returns the number of keys which may be in the filter.
+  public int containsAll(long[][] keyHashes, boolean[] results) {
+    if (results.length < keyHashes.length)
+      throw new IllegalArgumentException("results too small");
+    int found = 0;
+    for (int i = 0; i < keyHashes.length; i++) {
+      if (results[i] = contains(keyHashes[i])) found++;
+    }
+    return found;
+  }
+
+  // Writes a snapshot of this bloom filter to the stream. The stream is flushed but not closed.
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out, IO_BUFFER_SIZE));
+    dos.writeInt(MAGIC);
+    dos.writeInt(VERSION);
+    dos.writeInt(N_SETS);
+    for (int setSize : SET_SIZES) dos.writeInt(setSize);
+    for (int i = 12 + 4 * N_SETS; i < headerSize(N_SETS); i++) dos.writeByte(0);
+    for (int k = 0; k < N_SETS; k++) {
+      for (int i = 0; i < wordsInSet(SET_SIZES[k]); i++) dos.writeLong(word(k, i));
+    }
+    dos.flush();
+  }
+
+  // Reads the header of a snapshot and returns the sizes of the bitsets. 'length' is the number of
+  // bytes from the start of the snapshot to the end of the input, Long.MAX_VALUE if unknown.
+  static int[] readHeader(DataInputStream in, long length) throws IOException {
+    if (in.readInt() != MAGIC) throw new IOException("Not a bloom filter snapshot");
+    int version = in.readInt();
+    if (version != VERSION) throw new IOException("Unsupported snapshot version: " + version);
+    int nSets = in.readInt();
+    // Every bitset takes at least 4 bytes of header and one word
+    if (nSets < 0 || 12 + 12L * nSets > length)
+      throw new IOException("Corrupt bloom filter snapshot");
+    // The sizes array grows as the sizes are read, so a corrupt count in a stream of unknown
+    // length runs into the end of the stream instead of allocating a huge array
+    int[] setSizes = new int[Math.min(nSets, 1024)];
+    for (int i = 0; i < nSets; i++) {
+      if (i == setSizes.length) setSizes = Arrays.copyOf(setSizes, (int) Math.min(nSets, 2L * i));
+      setSizes[i] = in.readInt();
+      if (setSizes[i] <= 0) throw new IOException("Corrupt bloom filter snapshot");
+    }
+    in.readFully(new byte[8], 0, headerSize(nSets) - 12 - 4 * nSets);
+    return setSizes;
+  }
+
+  // Reads a snapshot written by 'writeTo' into a new bloom filter on the heap
+  public static BloomFilter readFrom(InputStream in) throws IOException {
+    return readFrom(in, Long.MAX_VALUE);
+  }
+
+  // Same as readFrom, 'length' is the number of bytes left in the input as in readHeader
+  static BloomFilter readFrom(InputStream in, long length) throws IOException {
+    DataInputStream dis = new DataInputStream(in);
+    BloomFilter bloomFilter = new BloomFilter(readHeader(dis, length));
+    for (int k = 0; k < bloomFilter.N_SETS; k++) {
+      long[] bitset = bloomFilter.bitsets[k];
+      for (int i = 0; i < wordsInSet(bloomFilter.SET_SIZES[k]); i++) bitset[i] = dis.readLong();
+    }
+    return bloomFilter;
+  }
+
+  public void save(Path path) throws IOException {
+    try (OutputStream out = Files.newOutputStream(path)) {
+      writeTo(out);
+    }
+  }
+
+  public static BloomFilter load(Path path) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path), IO_BUFFER_SIZE)) {
+      return readFrom(in, Files.size(path));
+    }
+  }
+
+  // Memory-maps a snapshot file as a read-only bloom filter, calling add on it throws an
+  // UnsupportedOperationException. The mapping stays valid until the filter is garbage collected.
+  public static BloomFilter map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return MappedBloomFilter.map(channel, 0);
+    }
+  }
+
   @Override
   public String toString() {
 
@@ -73,7 +214,7 @@ public class BloomFilter {
         int block = i / 64;
         int offset = i % 64;
         long mask = 1L << offset;
-        if ((bitsets[k][block] & mask) == mask) {
+        if ((word(k, block) & mask) == mask) {
           matrix[k][i] = '1';
         }
       }
@@ -0,0 +1,97 @@
+/**
+ * A thread safe version of {@link BloomFilter} which lets many threads add keys at the same time
+ * without a global lock.
+ *
+ * <p>In BloomFilter a bit is set with a plain read-modify-write 'bitset[block] |= mask', so when
+ * two threads set different bits of the same long one of the updates can be lost, resulting in
+ * false negatives. Here the bitsets live in an AtomicLongArray and bits are set with a
+ * compare-and-swap loop which only retries when another thread changed the same long in the
+ * meantime. Since bits are only ever set, a thread can skip the CAS entirely if its bit is already
+ * set.
+ *
+ * <p>Lookups are plain volatile reads and so are wait-free. A key is guaranteed to be visible to
+ * 'contains' once the 'add' call which inserted it has returned.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConcurrentBloomFilter {
+
+  // The number of bitsets. This should be proportional
+  // to the number of hash functions for this bloom filter
+  private final int N_SETS;
+
+  // All the bitsets are stored back to back in one array, bitset i
+  // starts at index OFFSETS[i] and is SET_SIZES[i] bits long
+  private final AtomicLongArray bits;
+  private final int[] OFFSETS;
+  private final int[] SET_SIZES;
+
+  private static final long MOD64_MASK = 0x3F;
+  private static final long DIV64_SHIFT = 6;
+
+  // Create a bloom filter with a various bitsets of different sizes
+  public ConcurrentBloomFilter(int[] bitSetSizes) {
+    N_SETS = bitSetSizes.length;
+    SET_SIZES = bitSetSizes.clone();
+    OFFSETS = new int[N_SETS];
+    int words = 0;
+    for (int i = 0; i < N_SETS; i++) {
+      if (SET_SIZES[i] <= 0) throw new IllegalArgumentException("Illegal size: " + SET_SIZES[i]);
+      OFFSETS[i] = words;
+      words += (SET_SIZES[i] + 63) >>> DIV64_SHIFT;
+    }
+    bits = new AtomicLongArray(words);
+  }
+
+  // Add a hash value to one of the bitsets in the bloom filter. Negative hash values are fine:
+  // floorMod keeps them inside the bitset rather than letting them reach the previous bitset.
+  public void add(int setIndex, long hash) {
+    hash = Math.floorMod(hash, SET_SIZES[setIndex]);
+    int index = OFFSETS[setIndex] + (int) (hash >> DIV64_SHIFT);
+    long mask = 1L << (hash & MOD64_MASK);
+    long word = bits.get(index);
+    while ((word & mask) == 0) {
+      if (bits.compareAndSet(index, word, word | mask)) return;
+      word = bits.get(index);
+    }
+  }
+
+  // Adds a group of related hash values to the bloom filter.
+  // These hash values should be the hash values that were applied
+  // to all the various hash functions on the same key.
+  public void add(long[] hashes) {
+    for (int i = 0; i < N_SETS; i++) {
+      add(i, hashes[i]);
+    }
+  }
+
+  public void addAll(long[][] keyHashes) {
+    for (long[] hashes : keyHashes) add(hashes);
+  }
+
+  // Checks if a particular key is found within the bloom filter
+  public boolean contains(long[] hashes) {
+    for (int i = 0; i < hashes.length; i++) {
+      long hash = Math.floorMod(hashes[i], SET_SIZES[i]);
+      long mask = 1L << (hash & MOD64_MASK);
+      if ((bits.get(OFFSETS[i] + (int) (hash >> DIV64_SHIFT)) & mask) == 0) return false;
+    }
+    return true;
+  }
+
+  // Checks a batch of keys, setting results[i] to whether the i'th key may be
+  // in the bloom filter. Returns the number of keys which may be in the filter.
+  public int containsAll(long[][] keyHashes, boolean[] results) {
+    if (results.length < keyHashes.length)
+      throw new IllegalArgumentException("results too small");
+    int found = 0;
+    for (int i = 0; i < keyHashes.length; i++) {
+      if (results[i] = contains(keyHashes[i])) found++;
+    }
+    return found;
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * A counting bloom filter, which unlike {@link BloomFilter} supports removing keys. Every bit of
+ * the bitsets is replaced by a 4 bit counter (16 counters packed in a long) which is incremented
+ * when a key is added and decremented when it is removed, a key may be in the filter if all of its
+ * counters are non zero.
+ *
+ * <p>Counters saturate at 15 and a saturated counter is never decremented again, since we no longer
+ * know how many keys map to it. With 4 bits and a reasonably sized filter saturation is extremely
+ * rare. Only remove keys which were added, removing other keys can introduce false negatives.
+ *
+ * <p>Like BloomFilter the caller supplies one hash value per bitset for every key.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+public class CountingBloomFilter {
+
+  private static final int COUNTER_BITS = 4;
+  private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final long MAX_COUNT = COUNTER_MASK;
+
+  private final int N_SETS;
+  private final int[] SET_SIZES;
+
+  // The counters of each bitset, 16 to a long
+  private final long[][] counters;
+
+  // Create a counting bloom filter with various bitsets of different sizes
+  public CountingBloomFilter(int[] bitSetSizes) {
+    N_SETS = bitSetSizes.length;
+    SET_SIZES = bitSetSizes.clone();
+    counters = new long[N_SETS][];
+    for (int i = 0; i < N_SETS; i++) {
+      if (SET_SIZES[i] <= 0) throw new IllegalArgumentException("Illegal size: " + SET_SIZES[i]);
+      counters[i] = new long[(SET_SIZES[i] + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+    }
+  }
+
+  // Returns the counter associated with a hash value in one of the bitsets
+  private int counter(int setIndex, long hash) {
+    hash %= SET_SIZES[setIndex];
+    int shift = (int) (hash % COUNTERS_PER_WORD) * COUNTER_BITS;
+    return (int) ((counters[setIndex][(int) (hash / COUNTERS_PER_WORD)] >>> shift) & COUNTER_MASK);
+  }
+
+  // Adds 'delta' (+1 or -1) to a counter unless it is saturated
+  private void update(int setIndex, long hash, long delta) {
+    hash %= SET_SIZES[setIndex];
+    int word = (int) (hash / COUNTERS_PER_WORD);
+    int shift = (int) (hash % COUNTERS_PER_WORD) * COUNTER_BITS;
+    long count = (counters[setIndex][word] >>> shift) & COUNTER_MASK;
+    if (count != MAX_COUNT) counters[setIndex][word] += delta << shift;
+  }
+
+  // Adds a group of related hash values to the bloom filter.
+  // These hash values should be the hash values that were applied
+  // to all the various hash functions on the same key.
+  public void add(long[] hashes) {
+    for (int i = 0; i < N_SETS; i++) update(i, hashes[i], 1);
+  }
+
+  // Removes a key from the bloom filter. Returns false without modifying the filter if the key
+  // was definitely not in the filter.
+  public boolean remove(long[] hashes) {
+    if (!contains(hashes)) return false;
+    for (int i = 0; i < N_SETS; i++) update(i, hashes[i], -1);
+    return true;
+  }
+
+  // Checks if a particular key may be found within the bloom filter
+  public boolean contains(long[] hashes) {
+    for (int i = 0; i < N_SETS; i++) if (counter(i, hashes[i]) == 0) return false;
+    return true;
+  }
+
+  // Returns an upper bound on the number of times the key was added, which is the
+  // smallest of its counters. The result is capped at 15.
+  public int count(long[] hashes) {
+    int min = (int) MAX_COUNT;
+    for (int i = 0; i < N_SETS; i++) min = Math.min(min, counter(i, hashes[i]));
+    return min;
+  }
+
+  public void clear() {
+    for (long[] set : counters) java.util.Arrays.fill(set, 0L);
+  }
+}
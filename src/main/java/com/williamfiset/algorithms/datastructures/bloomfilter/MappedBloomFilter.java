@@ -0,0 +1,70 @@
+/**
+ * A read-only bloom filter whose bitsets are memory-mapped from a snapshot file written by {@link
+ * BloomFilter#writeTo}. Nothing is read up front, the operating system pages the bitsets in as
+ * lookups touch them and shares those pages between all processes mapping the same file.
+ *
+ * <p>Each bitset is mapped separately so that snapshots can be larger than the 2GB limit of a
+ * single mapping.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+class MappedBloomFilter extends BloomFilter {
+
+  private static final long MOD64_MASK = 0x3F;
+  private static final long DIV64_SHIFT = 6;
+
+  private final int[] setSizes;
+  private final LongBuffer[] bitsets;
+
+  private MappedBloomFilter(int[] setSizes, LongBuffer[] bitsets) {
+    super(setSizes, null);
+    this.setSizes = setSizes;
+    this.bitsets = bitsets;
+  }
+
+  // Maps the snapshot starting at byte 'offset' of the file. The channel
+  // may be closed afterwards, the mappings remain valid.
+  static MappedBloomFilter map(FileChannel channel, long offset) throws IOException {
+    channel.position(offset);
+    DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+    int[] setSizes = readHeader(in, channel.size() - offset);
+
+    long position = offset + headerSize(setSizes.length);
+    LongBuffer[] bitsets = new LongBuffer[setSizes.length];
+    for (int i = 0; i < setSizes.length; i++) {
+      long bytes = 8L * wordsInSet(setSizes[i]);
+      if (position + bytes > channel.size()) throw new IOException("Truncated bloom filter file");
+      bitsets[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).asLongBuffer();
+      position += bytes;
+    }
+    return new MappedBloomFilter(setSizes, bitsets);
+  }
+
+  @Override
+  long word(int setIndex, int index) {
+    return bitsets[setIndex].get(index);
+  }
+
+  @Override
+  public void add(int setIndex, long hash) {
+    throw new UnsupportedOperationException("Memory-mapped bloom filters are read-only");
+  }
+
+  @Override
+  public boolean contains(long[] hashes) {
+    for (int i = 0; i < hashes.length; i++) {
+      long hash = hashes[i] % setSizes[i];
+      long mask = 1L << (hash & MOD64_MASK);
+      if ((bitsets[i].get((int) (hash >> DIV64_SHIFT)) & mask) != mask) return false;
+    }
+    return true;
+  }
+}
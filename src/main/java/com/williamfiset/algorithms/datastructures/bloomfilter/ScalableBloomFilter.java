@@ -0,0 +1,140 @@
+/**
+ * A scalable bloom filter (Almeida et al. 2007) which keeps its false positive rate bounded no
+ * matter how many keys are added. A plain {@link BloomFilter} is sized for a fixed number of keys
+ * and its false positive rate quickly approaches 1 once that number is exceeded.
+ *
+ * <p>The scalable filter is a chain of BloomFilter layers. Keys are always added to the newest
+ * layer and once it holds as many keys as it was sized for a new layer is appended which is
+ * GROWTH_FACTOR times larger and has a false positive rate TIGHTENING_RATIO times smaller. A key
+ * is in the filter if it is in any layer, so the overall false positive rate is bounded by the
+ * geometric series p0 + p0*r + p0*r^2 + ... = p0 / (1 - r). Setting the first layer's rate to
+ * p0 = p * (1 - r) keeps the whole filter under the requested rate p.
+ *
+ * <p>Every layer is a partitioned bloom filter with one bitset per hash function (exactly the
+ * layout of BloomFilter). Since the layers have different sizes the caller supplies a single 64 bit
+ * hash per key and the hash values for each bitset are derived from it with double hashing. This
+ * class is not thread safe.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScalableBloomFilter {
+
+  private static final int GROWTH_FACTOR = 2;
+  private static final double TIGHTENING_RATIO = 0.5;
+  private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+  private final double falsePositiveRate;
+
+  // A layer is a bloom filter whose k bitsets all have the same size, along with
+  // scratch space for the k hash values of the key being added or looked up.
+  private static class Layer {
+    final BloomFilter filter;
+    final int setSize;
+    final long[] hashes;
+
+    Layer(int k, int setSize) {
+      int[] setSizes = new int[k];
+      java.util.Arrays.fill(setSizes, setSize);
+      this.filter = new BloomFilter(setSizes);
+      this.setSize = setSize;
+      this.hashes = new long[k];
+    }
+
+    // Derives the hash value of each bitset: h1 + i*h2 reduced modulo the set size
+    long[] hashes(long h1, long h2) {
+      for (int i = 0; i < hashes.length; i++) {
+        hashes[i] = Long.remainderUnsigned(h1 + i * h2, setSize);
+      }
+      return hashes;
+    }
+  }
+
+  private final List<Layer> layers = new ArrayList<>();
+
+  // The number of keys the newest layer was sized for and the number of keys added to it
+  private long layerCapacity, layerKeys;
+  private double layerFalsePositiveRate;
+  private long keyCount;
+
+  // initialCapacity - The number of keys the first layer is sized for
+  // falsePositiveRate - The maximum false positive rate of the whole filter
+  public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+    if (initialCapacity <= 0)
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+      throw new IllegalArgumentException("Illegal false positive rate: " + falsePositiveRate);
+    this.falsePositiveRate = falsePositiveRate;
+    layerCapacity = initialCapacity;
+    layerFalsePositiveRate = falsePositiveRate * (1 - TIGHTENING_RATIO);
+    addLayer();
+  }
+
+  // Appends a layer sized for 'layerCapacity' keys at a 'layerFalsePositiveRate' error rate
+  private void addLayer() {
+    // With k bitsets of m bits each, n keys give a false positive rate of about (1-e^(-n/m))^k,
+    // which is minimized by k = log2(1/p) and m = n*ln(1/p) / (k*ln(2)^2).
+    int k = (int) Math.ceil(-Math.log(layerFalsePositiveRate) / Math.log(2));
+    long bits = (long) Math.ceil(layerCapacity * -Math.log(layerFalsePositiveRate) / LN2_SQUARED);
+    long setSize = Math.max(64, (bits + k - 1) / k);
+    if (setSize > Integer.MAX_VALUE) throw new IllegalStateException("Bloom filter is too large");
+    layers.add(new Layer(k, (int) setSize));
+    layerKeys = 0;
+  }
+
+  // Scrambles the bits of a hash value (the murmur3 64 bit finalizer)
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  // Adds a key with the given 64 bit hash to the filter. Returns false if the key
+  // was (possibly) already in the filter, in which case nothing is added.
+  public boolean add(long hash) {
+    if (contains(hash)) return false;
+    if (layerKeys >= layerCapacity) {
+      layerCapacity *= GROWTH_FACTOR;
+      layerFalsePositiveRate *= TIGHTENING_RATIO;
+      addLayer();
+    }
+    long h1 = mix(hash), h2 = mix(h1) | 1;
+    Layer layer = layers.get(layers.size() - 1);
+    layer.filter.add(layer.hashes(h1, h2));
+    layerKeys++;
+    keyCount++;
+    return true;
+  }
+
+  // Checks if the key with the given 64 bit hash may be in the filter
+  public boolean contains(long hash) {
+    long h1 = mix(hash), h2 = mix(h1) | 1;
+    // Newer layers are larger and hold most of the keys, so check them first
+    for (int l = layers.size() - 1; l >= 0; l--) {
+      Layer layer = layers.get(l);
+      if (layer.filter.contains(layer.hashes(h1, h2))) return true;
+    }
+    return false;
+  }
+
+  // Returns the number of distinct keys added (up to false positives)
+  public long size() {
+    return keyCount;
+  }
+
+  public int getLayerCount() {
+    return layers.size();
+  }
+
+  // Returns the false positive rate this filter was configured to stay under
+  public double getFalsePositiveRate() {
+    return falsePositiveRate;
+  }
+}
@@ -5,10 +5,36 @@
  * probabilistic, this DS is very safe to use because the probability of a false positive can be set
  * to as low as you wish it to be.
  *
+ * <p>A StringSet can be saved to a snapshot file containing its maximum string length followed by
+ * the snapshot of its bloom filter (see {@link BloomFilter}), and later loaded back into memory or
+ * memory-mapped as a read-only set.
+ *
+ * <p>The 'scan' methods stream text from a Reader or a channel and report every window of the
+ * requested lengths which is (probably) in the set. They keep one rolling hash per window length
+ * which is updated with 'addRight' and 'removeLeft' as characters arrive, so memory use does not
+ * depend on the size of the input. Characters outside the printable ASCII range all map to the
+ * same value.
+ *
  * @author William Alexandre Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.datastructures.bloomfilter;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 public class StringSet {
 
   // Our alphabet size is 95 because there are only 95 printable ASCII characters
@@ -31,6 +57,25 @@ public class StringSet {
   // 1000000021, 1000000033
   private static final int[] DEFAULT_MODS = {10009, 100003, 1000003};
 
+  // Receives the windows found by 'scan', 'start' is the offset of the first
+  // character of the window counted from the beginning of the stream.
+  @FunctionalInterface
+  public interface MatchListener {
+    void onMatch(long start, int length);
+  }
+
+  private static final int SCAN_BUFFER_SIZE = 1 << 13;
+
+  // Snapshot file format identifiers, MAGIC spells "STRS". The header is
+  // padded to 16 bytes so the bitsets of the bloom filter stay 8 byte aligned.
+  private static final int MAGIC = 0x53545253, VERSION = 1, HEADER_SIZE = 16;
+
+  // The largest supported maximum string length. POWERS holds maxLen longs per hash function, so
+  // this also keeps a corrupt snapshot from requesting gigabytes of memory.
+  static final int MAX_LEN = 1 << 24;
+
+  private final int maxLen;
+
   // Assign a mapping from the printable ASCII characters to the natural numbers
   static {
     for (int i = 32, n = 1; i < ALPHABET.length; i++, n++) {
@@ -45,13 +90,21 @@ public class StringSet {
   // mods - The mod values to use for the bloom filter, they should probably be prime numbers
   // maxLen - The maximum length string we will need to deal with
   public StringSet(int[] mods, int maxLen) {
+    this(mods, maxLen, new BloomFilter(mods));
+  }
 
+  // Creates a string set on top of an existing bloom filter whose bitset sizes are the mods
+  private StringSet(int[] mods, int maxLen, BloomFilter bloomFilter) {
+    if (maxLen <= 0 || maxLen > MAX_LEN)
+      throw new IllegalArgumentException("Illegal maximum length: " + maxLen);
+
+    this.maxLen = maxLen;
     MODS = mods.clone();
     N_HASHES = mods.length;
     MOD_INVERSES = new int[N_HASHES];
     POWERS = new long[N_HASHES][maxLen];
     rollingHashes = new long[N_HASHES];
-    bloomFilter = new BloomFilter(mods);
+    this.bloomFilter = bloomFilter;
 
     java.math.BigInteger bigAlpha = new java.math.BigInteger(String.valueOf(ALPHABET_SZ));
 
@@ -187,6 +240,81 @@ public class StringSet {
     return removeRight(rollingHash, ALPHABET[lastValue], modIndex);
   }
 
+  // Maps any character to its alphabet value, characters outside of the alphabet map to 0
+  private static int value(int c) {
+    return c < ALPHABET.length ? ALPHABET[c] : 0;
+  }
+
+  // Streaming state of a scan: a ring buffer holding the last characters seen
+  // and the rolling hash of the current window of every requested length.
+  private final class Scanner {
+    final int[] lengths;
+    final long[][] hashes;
+    final int[] window;
+    final int mask;
+    final MatchListener listener;
+    long position;
+
+    Scanner(int[] lengths, MatchListener listener) {
+      if (lengths == null || lengths.length == 0)
+        throw new IllegalArgumentException("No window lengths to scan for");
+      if (listener == null) throw new IllegalArgumentException("listener cannot be null");
+      int longest = 0;
+      for (int length : lengths) {
+        if (length <= 0 || length > POWERS[0].length)
+          throw new IllegalArgumentException("Illegal window length: " + length);
+        longest = Math.max(longest, length);
+      }
+      this.lengths = lengths.clone();
+      this.listener = listener;
+      hashes = new long[lengths.length][N_HASHES];
+      window = new int[Integer.highestOneBit(longest) << 1];
+      mask = window.length - 1;
+    }
+
+    void accept(int c) {
+      int value = value(c);
+      window[(int) (position & mask)] = value;
+      position++;
+      for (int l = 0; l < lengths.length; l++) {
+        int len = lengths[l];
+        long[] h = hashes[l];
+        boolean full = position > len;
+        int first = full ? window[(int) ((position - 1 - len) & mask)] : 0;
+        for (int k = 0; k < N_HASHES; k++) {
+          if (full) h[k] = removeLeft(h[k], first, k, len);
+          h[k] = addRight(h[k], value, k);
+        }
+        if (position >= len && bloomFilter.contains(h)) listener.onMatch(position - len, len);
+      }
+    }
+  }
+
+  // Reads the stream until its end, reporting every window of one of the given lengths which
+  // may be in the set. Returns the number of characters read. The reader is not closed.
+  public long scan(Reader reader, MatchListener listener, int... lengths) throws IOException {
+    Scanner scanner = new Scanner(lengths, listener);
+    char[] buffer = new char[SCAN_BUFFER_SIZE];
+    for (int n; (n = reader.read(buffer)) != -1; ) {
+      for (int i = 0; i < n; i++) scanner.accept(buffer[i]);
+    }
+    return scanner.position;
+  }
+
+  // Same as scanning a Reader, except that every byte of the channel is treated as one character
+  // (ISO-8859-1), which avoids decoding. Returns the number of bytes read.
+  public long scan(ReadableByteChannel channel, MatchListener listener, int... lengths)
+      throws IOException {
+    Scanner scanner = new Scanner(lengths, listener);
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    while (channel.read(buffer) != -1) {
+      buffer.flip();
+      while (buffer.hasRemaining()) scanner.accept(buffer.get() & 0xFF);
+      buffer.clear();
+    }
+    return scanner.position;
+  }
+
   // Given the hash of a string this method returns whether or not
   // that string is found within the bloom filter.
   public boolean contains(long[] hashes) {
@@ -198,6 +326,51 @@ public class StringSet {
     return bloomFilter.contains(computeHash(str));
   }
 
+  // Saves a snapshot of this string set to a file
+  public void save(Path path) throws IOException {
+    try (OutputStream out =
+        new BufferedOutputStream(Files.newOutputStream(path), BloomFilter.IO_BUFFER_SIZE)) {
+      DataOutputStream dos = new DataOutputStream(out);
+      dos.writeInt(MAGIC);
+      dos.writeInt(VERSION);
+      dos.writeInt(maxLen);
+      dos.writeInt(0);
+      bloomFilter.writeTo(dos);
+      dos.flush();
+    }
+  }
+
+  private static int readHeader(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) throw new IOException("Not a string set snapshot");
+    int version = in.readInt();
+    if (version != VERSION) throw new IOException("Unsupported snapshot version: " + version);
+    int maxLen = in.readInt();
+    if (maxLen <= 0 || maxLen > MAX_LEN) throw new IOException("Corrupt string set snapshot");
+    in.readInt();
+    return maxLen;
+  }
+
+  // Loads a string set snapshot into memory
+  public static StringSet load(Path path) throws IOException {
+    try (InputStream in =
+        new BufferedInputStream(Files.newInputStream(path), BloomFilter.IO_BUFFER_SIZE)) {
+      DataInputStream dis = new DataInputStream(in);
+      int maxLen = readHeader(dis);
+      BloomFilter bloomFilter = BloomFilter.readFrom(dis, Files.size(path) - HEADER_SIZE);
+      return new StringSet(bloomFilter.getSetSizes(), maxLen, bloomFilter);
+    }
+  }
+
+  // Memory-maps a string set snapshot. The returned set can be queried, but adding
+  // strings to it throws an UnsupportedOperationException.
+  public static StringSet map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      int maxLen = readHeader(new DataInputStream(Channels.newInputStream(channel)));
+      BloomFilter bloomFilter = MappedBloomFilter.map(channel, HEADER_SIZE);
+      return new StringSet(bloomFilter.getSetSizes(), maxLen, bloomFilter);
+    }
+  }
+
   @Override
   public String toString() {
     return bloomFilter.toString();
@@ -0,0 +1,384 @@
+/**
+ * A thread-safe hash-table using separate chaining, meant to be shared between many threads.
+ *
+ * <p>Compared to {@link HashTableSeparateChaining} this implementation:
+ *
+ * <ul>
+ *   <li>Uses lock striping: writers only lock the stripe (a fixed subset of the buckets) their key
+ *       belongs to, so writes to different stripes proceed in parallel.
+ *   <li>Has lock-free reads. The chains are made of immutable links (only the value is mutable and
+ *       volatile) and writers publish changes by replacing the head of a bucket, so readers always
+ *       see a consistent chain without taking a lock.
+ *   <li>Resizes incrementally. When the table grows a new table is allocated and the buckets of
+ *       the old table are moved over a few at a time by the writer threads after they complete
+ *       their own operation. Moved buckets are replaced with a forwarding marker which redirects
+ *       readers and writers to the new table, so no operation ever has to wait for the whole
+ *       table to be rehashed.
+ * </ul>
+ *
+ * <p>The number of stripes and the table capacity are both powers of two and the capacity is
+ * always a multiple of the number of stripes. Therefore, a key always maps to the same stripe no
+ * matter the size of the table, and an old bucket and the two new buckets it is split into are
+ * guarded by the same lock.
+ *
+ * <p>NOTE: size(), keys() and values() are weakly consistent while other threads are writing.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHashTableSeparateChaining<K, V> implements Iterable<K> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int DEFAULT_STRIPES = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  // The number of old buckets a writer moves to the new table after each write while a resize is
+  // in progress. Since the table doubles in size, this many buckets per write guarantees that a
+  // resize completes long before the next one is needed.
+  private static final int TRANSFER_BATCH = 4;
+
+  // A link in a bucket's chain. Everything but the value is immutable.
+  private static class Node<K, V> {
+    final int hash;
+    final K key;
+    volatile V value;
+    final Node<K, V> next;
+
+    Node(int hash, K key, V value, Node<K, V> next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  // Placed in a bucket of the old table once its entries have been moved to the new table.
+  private static class ForwardingNode<K, V> extends Node<K, V> {
+    final AtomicReferenceArray<Node<K, V>> nextTable;
+
+    ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+      super(0, null, null, null);
+      this.nextTable = nextTable;
+    }
+  }
+
+  // Tracks the progress of an ongoing resize.
+  private static class Resize<K, V> {
+    final AtomicReferenceArray<Node<K, V>> oldTable, newTable;
+    final AtomicInteger nextBucket = new AtomicInteger();
+    final AtomicInteger bucketsMoved = new AtomicInteger();
+
+    Resize(AtomicReferenceArray<Node<K, V>> oldTable, AtomicReferenceArray<Node<K, V>> newTable) {
+      this.oldTable = oldTable;
+      this.newTable = newTable;
+    }
+  }
+
+  private final double maxLoadFactor;
+  private final ReentrantLock[] locks;
+  private final int stripeMask;
+
+  // The number of keys in each stripe. Only modified while holding the stripe's lock.
+  private final AtomicIntegerArray counts;
+
+  private volatile AtomicReferenceArray<Node<K, V>> table;
+  private volatile Resize<K, V> resize;
+
+  public ConcurrentHashTableSeparateChaining() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_STRIPES);
+  }
+
+  public ConcurrentHashTableSeparateChaining(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, DEFAULT_STRIPES);
+  }
+
+  // Designated constructor
+  public ConcurrentHashTableSeparateChaining(int capacity, double maxLoadFactor, int stripes) {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity");
+    if (maxLoadFactor <= 0 || Double.isNaN(maxLoadFactor) || Double.isInfinite(maxLoadFactor))
+      throw new IllegalArgumentException("Illegal maxLoadFactor");
+    if (stripes <= 0) throw new IllegalArgumentException("Illegal stripes");
+    this.maxLoadFactor = maxLoadFactor;
+
+    int stripeCount = powerOfTwoAtLeast(stripes);
+    stripeMask = stripeCount - 1;
+    locks = new ReentrantLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) locks[i] = new ReentrantLock();
+    counts = new AtomicIntegerArray(stripeCount);
+
+    table = new AtomicReferenceArray<>(Math.max(stripeCount, powerOfTwoAtLeast(capacity)));
+  }
+
+  private static int powerOfTwoAtLeast(int n) {
+    if (n >= MAX_CAPACITY) return MAX_CAPACITY;
+    return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  // Spreads the higher bits of the hash downwards since the table uses a power of two capacity.
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  // Returns the number of elements currently inside the hash-table
+  public int size() {
+    long size = 0;
+    for (int i = 0; i < counts.length(); i++) size += counts.get(i);
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  // Returns the capacity of the newest table (used mostly for testing)
+  public int getCapacity() {
+    Resize<K, V> r = resize;
+    return r != null ? r.newTable.length() : table.length();
+  }
+
+  public boolean containsKey(K key) {
+    return hasKey(key);
+  }
+
+  // Returns true/false depending on whether a key is in the hash table. Does not lock.
+  public boolean hasKey(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    return findNode(spread(key.hashCode()), key) != null;
+  }
+
+  // Gets a key's value from the map. Does not lock.
+  // NOTE: returns null if the value is null AND also returns
+  // null if the key does not exists, so watch out..
+  public V get(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    Node<K, V> node = findNode(spread(key.hashCode()), key);
+    return node == null ? null : node.value;
+  }
+
+  private Node<K, V> findNode(int hash, K key) {
+    AtomicReferenceArray<Node<K, V>> t = table;
+    while (true) {
+      Node<K, V> node = t.get(hash & (t.length() - 1));
+      if (node instanceof ForwardingNode) {
+        t = ((ForwardingNode<K, V>) node).nextTable;
+        continue;
+      }
+      for (; node != null; node = node.next)
+        if (node.hash == hash && node.key.equals(key)) return node;
+      return null;
+    }
+  }
+
+  // Insert, put and add all place a value in the hash-table
+  public V put(K key, V value) {
+    return insert(key, value);
+  }
+
+  public V add(K key, V value) {
+    return insert(key, value);
+  }
+
+  public V insert(K key, V value) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    int hash = spread(key.hashCode());
+    int stripe = hash & stripeMask;
+    V oldValue = null;
+    boolean overThreshold = false;
+
+    locks[stripe].lock();
+    try {
+      AtomicReferenceArray<Node<K, V>> t = lockedTableFor(hash);
+      int bucketIndex = hash & (t.length() - 1);
+      Node<K, V> head = t.get(bucketIndex);
+
+      Node<K, V> existing = head;
+      while (existing != null && !(existing.hash == hash && existing.key.equals(key)))
+        existing = existing.next;
+
+      if (existing != null) {
+        oldValue = existing.value;
+        existing.value = value;
+      } else {
+        t.set(bucketIndex, new Node<>(hash, key, value, head));
+        overThreshold = counts.incrementAndGet(stripe) > stripeThreshold(t.length());
+      }
+    } finally {
+      locks[stripe].unlock();
+    }
+
+    afterWrite(overThreshold);
+    return oldValue;
+  }
+
+  // Removes a key from the map and returns the value.
+  // NOTE: returns null if the value is null AND also returns
+  // null if the key does not exists.
+  public V remove(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    int hash = spread(key.hashCode());
+    int stripe = hash & stripeMask;
+    V oldValue = null;
+
+    locks[stripe].lock();
+    try {
+      AtomicReferenceArray<Node<K, V>> t = lockedTableFor(hash);
+      int bucketIndex = hash & (t.length() - 1);
+      Node<K, V> head = t.get(bucketIndex);
+
+      Node<K, V> target = head;
+      while (target != null && !(target.hash == hash && target.key.equals(key)))
+        target = target.next;
+
+      if (target != null) {
+        // Links are immutable so copy the part of the chain before the removed
+        // node. Readers keep seeing the old chain until the new head is set.
+        Node<K, V> newHead = target.next;
+        for (Node<K, V> node = head; node != target; node = node.next)
+          newHead = new Node<>(node.hash, node.key, node.value, newHead);
+        t.set(bucketIndex, newHead);
+        counts.decrementAndGet(stripe);
+        oldValue = target.value;
+      }
+    } finally {
+      locks[stripe].unlock();
+    }
+
+    afterWrite(false);
+    return oldValue;
+  }
+
+  // Clears all the contents of the hash-table. This is the only operation which locks every
+  // stripe (always in the same order), after which an empty table is swapped in.
+  public void clear() {
+    for (ReentrantLock lock : locks) lock.lock();
+    try {
+      resize = null;
+      table = new AtomicReferenceArray<>(table.length());
+      for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+    } finally {
+      for (ReentrantLock lock : locks) lock.unlock();
+    }
+  }
+
+  // Returns the table whose bucket currently holds the entries for the given hash. Must be called
+  // while holding the lock of the hash's stripe, which guarantees the bucket is not being moved.
+  private AtomicReferenceArray<Node<K, V>> lockedTableFor(int hash) {
+    AtomicReferenceArray<Node<K, V>> t = table;
+    Node<K, V> head;
+    while ((head = t.get(hash & (t.length() - 1))) instanceof ForwardingNode)
+      t = ((ForwardingNode<K, V>) head).nextTable;
+    return t;
+  }
+
+  private int stripeThreshold(int capacity) {
+    return (int) Math.min(Integer.MAX_VALUE, capacity * maxLoadFactor / locks.length);
+  }
+
+  // Called by writers once they have released their stripe lock. Starts a new resize if the
+  // stripe grew past its share of the threshold and helps move buckets of an ongoing resize.
+  private void afterWrite(boolean overThreshold) {
+    if (overThreshold && resize == null) startResize();
+    Resize<K, V> r = resize;
+    if (r != null) transfer(r);
+  }
+
+  private synchronized void startResize() {
+    AtomicReferenceArray<Node<K, V>> t = table;
+    if (resize != null || t.length() >= MAX_CAPACITY) return;
+    resize = new Resize<>(t, new AtomicReferenceArray<>(t.length() << 1));
+  }
+
+  // Moves a batch of buckets from the old table to the new table
+  private void transfer(Resize<K, V> r) {
+    int oldCapacity = r.oldTable.length();
+    int start = r.nextBucket.getAndAdd(TRANSFER_BATCH);
+    int end = Math.min(oldCapacity, start + TRANSFER_BATCH);
+    for (int bucketIndex = start; bucketIndex < end; bucketIndex++) {
+      ReentrantLock lock = locks[bucketIndex & stripeMask];
+      lock.lock();
+      try {
+        // The table was cleared while this thread was waiting for the lock
+        if (resize != r) return;
+        moveBucket(r, bucketIndex);
+        if (r.bucketsMoved.incrementAndGet() == oldCapacity) {
+          table = r.newTable;
+          resize = null;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  // Splits the chain of an old bucket into the two new buckets it maps to, then leaves behind a
+  // forwarding marker. The new buckets are published before the marker so that readers holding
+  // the old table either see the old chain or get forwarded to a complete new chain.
+  private void moveBucket(Resize<K, V> r, int bucketIndex) {
+    int oldCapacity = r.oldTable.length();
+    Node<K, V> lo = null, hi = null;
+    for (Node<K, V> node = r.oldTable.get(bucketIndex); node != null; node = node.next) {
+      if ((node.hash & oldCapacity) == 0) lo = new Node<>(node.hash, node.key, node.value, lo);
+      else hi = new Node<>(node.hash, node.key, node.value, hi);
+    }
+    r.newTable.set(bucketIndex, lo);
+    r.newTable.set(bucketIndex + oldCapacity, hi);
+    r.oldTable.set(bucketIndex, new ForwardingNode<>(r.newTable));
+  }
+
+  // Returns the list of keys found within the hash table
+  public List<K> keys() {
+    List<K> keys = new ArrayList<>();
+    AtomicReferenceArray<Node<K, V>> t = table;
+    for (int i = 0; i < t.length(); i++) collect(t, i, keys, true);
+    return keys;
+  }
+
+  // Returns the list of values found within the hash table
+  public List<V> values() {
+    List<V> values = new ArrayList<>();
+    AtomicReferenceArray<Node<K, V>> t = table;
+    for (int i = 0; i < t.length(); i++) collect(t, i, values, false);
+    return values;
+  }
+
+  // Adds the keys or values in a bucket to the list, following forwarding markers.
+  @SuppressWarnings("unchecked")
+  private void collect(AtomicReferenceArray<Node<K, V>> t, int i, List<?> out, boolean keys) {
+    Node<K, V> node = t.get(i);
+    if (node instanceof ForwardingNode) {
+      AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) node).nextTable;
+      collect(next, i, out, keys);
+      collect(next, i + t.length(), out, keys);
+      return;
+    }
+    for (; node != null; node = node.next) ((List<Object>) out).add(keys ? node.key : node.value);
+  }
+
+  // Iterates over a snapshot of the keys taken when the iterator is created
+  @Override
+  public Iterator<K> iterator() {
+    return keys().iterator();
+  }
+
+  // Returns a string representation of this hash table
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    List<K> keys = keys();
+    for (K key : keys) sb.append(key + " => " + get(key) + ", ");
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Opt-in statistics collected by the hash-tables to help tune load factors and hash functions.
+ *
+ * <p>A hash-table only records statistics after metrics are enabled on it, otherwise the cost is a
+ * single null check per operation. The statistics are:
+ *
+ * <ul>
+ *   <li>A histogram of probe lengths, i.e. how many buckets (open addressing) or chain entries
+ *       (separate chaining) were inspected by each insert, lookup and removal. Probe lengths of
+ *       {@link #MAX_TRACKED_PROBE_LENGTH} or more are counted in the last histogram bucket.
+ *   <li>The number of times the table was resized and the total time spent resizing.
+ * </ul>
+ *
+ * Like the hash-tables themselves, this class is not thread safe.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public class HashTableMetrics {
+
+  public static final int MAX_TRACKED_PROBE_LENGTH = 32;
+
+  private final long[] probeLengthCounts = new long[MAX_TRACKED_PROBE_LENGTH + 1];
+  private long operations, totalProbes, resizeCount, resizeNanos;
+  private int maxProbeLength;
+
+  void recordProbes(int probeLength) {
+    probeLengthCounts[Math.min(probeLength, MAX_TRACKED_PROBE_LENGTH)]++;
+    if (probeLength > maxProbeLength) maxProbeLength = probeLength;
+    totalProbes += probeLength;
+    operations++;
+  }
+
+  void recordResize(long nanos) {
+    resizeCount++;
+    resizeNanos += nanos;
+  }
+
+  // Returns a copy of the probe length histogram where index i holds the number of operations
+  // which inspected exactly i buckets/entries (the last index holds all longer probe sequences).
+  public long[] getProbeLengthHistogram() {
+    return probeLengthCounts.clone();
+  }
+
+  // Returns the number of inserts, lookups and removals recorded
+  public long getOperationCount() {
+    return operations;
+  }
+
+  public double getAverageProbeLength() {
+    return operations == 0 ? 0 : (double) totalProbes / operations;
+  }
+
+  public int getMaxProbeLength() {
+    return maxProbeLength;
+  }
+
+  public long getResizeCount() {
+    return resizeCount;
+  }
+
+  public long getResizeTimeNanos() {
+    return resizeNanos;
+  }
+
+  public void reset() {
+    java.util.Arrays.fill(probeLengthCounts, 0);
+    operations = totalProbes = resizeCount = resizeNanos = 0;
+    maxProbeLength = 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("operations=").append(operations);
+    sb.append(", averageProbeLength=").append(String.format("%.3f", getAverageProbeLength()));
+    sb.append(", maxProbeLength=").append(maxProbeLength);
+    sb.append(", resizes=").append(resizeCount);
+    sb.append(", resizeTimeMs=").append(String.format("%.3f", resizeNanos / 1e6));
+    sb.append(", probeLengthHistogram={");
+    for (int i = 0; i <= MAX_TRACKED_PROBE_LENGTH; i++) {
+      if (probeLengthCounts[i] == 0) continue;
+      sb.append(i == MAX_TRACKED_PROBE_LENGTH ? i + "+" : i).append(": ");
+      sb.append(probeLengthCounts[i]).append(", ");
+    }
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -29,6 +29,9 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
   // Special marker token used to indicate the deletion of a key-value pair
   protected final K TOMBSTONE = (K) (new Object());
 
+  // Optional statistics, null unless metrics have been enabled
+  protected HashTableMetrics metrics;
+
   private static final int DEFAULT_CAPACITY = 7;
   private static final double DEFAULT_LOAD_FACTOR = 0.65;
 
@@ -96,6 +99,49 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
     return keyCount == 0;
   }
 
+  // Returns the fraction of buckets occupied by tombstones (deleted cells)
+  public double getTombstoneRatio() {
+    return (double) (usedBuckets - keyCount) / capacity;
+  }
+
+  // Starts recording probe lengths and resizes, returns the metrics being collected
+  public HashTableMetrics enableMetrics() {
+    if (metrics == null) metrics = new HashTableMetrics();
+    return metrics;
+  }
+
+  public void disableMetrics() {
+    metrics = null;
+  }
+
+  // Returns the metrics collected so far or null if metrics are disabled
+  public HashTableMetrics getMetrics() {
+    return metrics;
+  }
+
+  // Records the number of buckets inspected by an operation when metrics are enabled
+  protected final void recordProbes(int probeLength) {
+    if (metrics != null) metrics.recordProbes(probeLength);
+  }
+
+  // Resizes the table, timing it when metrics are enabled. Metrics are suspended while the
+  // keys are re-inserted so that rehashing does not show up in the probe length histogram.
+  protected final void resize() {
+    HashTableMetrics m = metrics;
+    if (m == null) {
+      resizeTable();
+      return;
+    }
+    metrics = null;
+    long start = System.nanoTime();
+    try {
+      resizeTable();
+    } finally {
+      metrics = m;
+    }
+    m.recordResize(System.nanoTime() - start);
+  }
+
   public V put(K key, V value) {
     return insert(key, value);
   }
@@ -173,7 +219,7 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
   // exists inside the hash-table then the value is updated.
   public V insert(K key, V val) {
     if (key == null) throw new IllegalArgumentException("Null key");
-    if (usedBuckets >= threshold) resizeTable();
+    if (usedBuckets >= threshold) resize();
 
     setupProbing(key);
     final int offset = normalizeIndex(key.hashCode());
@@ -200,6 +246,7 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
             values[j] = val;
           }
           modificationCount++;
+          recordProbes(x);
           return oldValue;
         }
 
@@ -222,6 +269,7 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
         }
 
         modificationCount++;
+        recordProbes(x);
         return null;
       }
     }
@@ -261,11 +309,15 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
             keys[i] = TOMBSTONE;
             values[i] = null;
           }
+          recordProbes(x);
           return true;
         }
 
         // Key was not found in the hash-table :/
-      } else return false;
+      } else {
+        recordProbes(x);
+        return false;
+      }
     }
   }
 
@@ -298,6 +350,7 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
           // We can perform an optimization by swapping the entries in cells
           // i and j so that the next time we search for this key it will be
           // found faster. This is called lazy deletion/relocation.
+          recordProbes(x);
           if (j != -1) {
             // Swap key-values pairs at indexes i and j.
             keys[j] = keys[i];
@@ -311,7 +364,10 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
         }
 
         // Element was not found in the hash-table :/
-      } else return null;
+      } else {
+        recordProbes(x);
+        return null;
+      }
     }
   }
 
@@ -332,10 +388,14 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
       if (keys[i] == TOMBSTONE) continue;
 
       // Key was not found in hash-table.
-      if (keys[i] == null) return null;
+      if (keys[i] == null) {
+        recordProbes(x);
+        return null;
+      }
 
       // The key we want to remove is in the hash-table!
       if (keys[i].equals(key)) {
+        recordProbes(x);
         keyCount--;
         modificationCount++;
         V oldValue = values[i];
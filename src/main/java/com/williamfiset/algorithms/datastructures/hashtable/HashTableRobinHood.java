@@ -0,0 +1,188 @@
+/**
+ * An implementation of a hash-table using open addressing with linear probing and Robin Hood
+ * hashing as a collision resolution method.
+ *
+ * <p>When inserting, if the key being placed has travelled further from its home bucket than the
+ * key currently occupying a bucket (i.e. it is "poorer"), the two are swapped and insertion
+ * continues with the displaced key. This keeps the variance of the probe lengths small and lets
+ * lookups stop early: once the probe length exceeds the probe length of the key in the current
+ * bucket the key cannot be in the table.
+ *
+ * <p>Removals use backward shift deletion instead of tombstones: the keys following the removed
+ * one are shifted back one bucket until an empty bucket or a key sitting in its home bucket is
+ * found. This means the table never accumulates deleted cells, so long-lived tables with lots of
+ * churn do not degrade between resizes.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public class HashTableRobinHood<K, V> extends HashTableOpenAddressingBase<K, V> {
+
+  // Caches the hash code of the key in each bucket so that probe lengths
+  // can be computed without calling hashCode on the stored keys.
+  private int[] hashes;
+
+  public HashTableRobinHood() {
+    super();
+    hashes = new int[capacity];
+  }
+
+  public HashTableRobinHood(int capacity) {
+    super(capacity);
+    hashes = new int[this.capacity];
+  }
+
+  // Designated constructor
+  public HashTableRobinHood(int capacity, double loadFactor) {
+    super(capacity, loadFactor);
+    if (loadFactor >= 1) throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+    hashes = new int[this.capacity];
+  }
+
+  // Robin Hood hashing always probes the next bucket, but the actual probing
+  // is done inline below because it needs to track probe lengths.
+  @Override
+  protected void setupProbing(K key) {}
+
+  @Override
+  protected int probe(int x) {
+    return x;
+  }
+
+  // Linear probing with a step of one reaches every bucket for any capacity.
+  @Override
+  protected void adjustCapacity() {}
+
+  // Returns how far the key with the given hash sitting at index i is from its home bucket.
+  private int probeLength(int hash, int i) {
+    int home = normalizeIndex(hash);
+    return i >= home ? i - home : i + capacity - home;
+  }
+
+  private int nextIndex(int i) {
+    return ++i == capacity ? 0 : i;
+  }
+
+  @Override
+  public V insert(K key, V val) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    if (usedBuckets >= threshold) resize();
+
+    int hash = key.hashCode();
+    boolean displaced = false;
+    for (int i = normalizeIndex(hash), dist = 0, x = 1; ; i = nextIndex(i), dist++, x++) {
+
+      // Found an empty bucket, place the key currently being carried.
+      if (keys[i] == null) {
+        keys[i] = key;
+        values[i] = val;
+        hashes[i] = hash;
+        usedBuckets++;
+        keyCount++;
+        modificationCount++;
+        recordProbes(x);
+        return null;
+      }
+
+      // The key already exists so update its value. This check is only needed
+      // before the first swap, any key displaced afterwards is already unique.
+      if (!displaced && hashes[i] == hash && keys[i].equals(key)) {
+        V oldValue = values[i];
+        values[i] = val;
+        modificationCount++;
+        recordProbes(x);
+        return oldValue;
+      }
+
+      // The resident key is richer (closer to home) than the one we are carrying,
+      // so the carried key takes its bucket and we continue with the resident key.
+      int residentDist = probeLength(hashes[i], i);
+      if (residentDist < dist) {
+        K k = keys[i];
+        V v = values[i];
+        int h = hashes[i];
+        keys[i] = key;
+        values[i] = val;
+        hashes[i] = hash;
+        key = k;
+        val = v;
+        hash = h;
+        dist = residentDist;
+        displaced = true;
+      }
+    }
+  }
+
+  // Returns the index of the bucket containing the key or -1 if it does not exist.
+  private int indexOf(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    int hash = key.hashCode();
+    for (int i = normalizeIndex(hash), dist = 0; ; i = nextIndex(i), dist++) {
+      if (keys[i] == null || probeLength(hashes[i], i) < dist) {
+        recordProbes(dist + 1);
+        return -1;
+      }
+      if (hashes[i] == hash && keys[i].equals(key)) {
+        recordProbes(dist + 1);
+        return i;
+      }
+    }
+  }
+
+  @Override
+  public boolean hasKey(K key) {
+    return indexOf(key) != -1;
+  }
+
+  @Override
+  public V get(K key) {
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  @Override
+  public V remove(K key) {
+    int i = indexOf(key);
+    if (i == -1) return null;
+    V oldValue = values[i];
+
+    // Backward shift deletion: pull every following key which is not in its
+    // home bucket back by one until we hit an empty bucket or a key at home.
+    int j = nextIndex(i);
+    while (keys[j] != null && probeLength(hashes[j], j) > 0) {
+      keys[i] = keys[j];
+      values[i] = values[j];
+      hashes[i] = hashes[j];
+      i = j;
+      j = nextIndex(j);
+    }
+    keys[i] = null;
+    values[i] = null;
+
+    usedBuckets--;
+    keyCount--;
+    modificationCount++;
+    return oldValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected void resizeTable() {
+    K[] oldKeys = keys;
+    V[] oldValues = values;
+
+    increaseCapacity();
+    adjustCapacity();
+    threshold = (int) (capacity * loadFactor);
+
+    keys = (K[]) new Object[capacity];
+    values = (V[]) new Object[capacity];
+    hashes = new int[capacity];
+    keyCount = usedBuckets = 0;
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i]);
+    }
+  }
+}
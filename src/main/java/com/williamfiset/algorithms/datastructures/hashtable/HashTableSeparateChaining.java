@@ -42,6 +42,9 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   private int capacity, threshold, size = 0;
   private LinkedList<Entry<K, V>>[] table;
 
+  // Optional statistics, null unless metrics have been enabled
+  private HashTableMetrics metrics;
+
   public HashTableSeparateChaining() {
     this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
   }
@@ -77,6 +80,32 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
     return (keyHash & 0x7FFFFFFF) % capacity;
   }
 
+  // Starts recording chain probe lengths and resizes, returns the metrics being collected
+  public HashTableMetrics enableMetrics() {
+    if (metrics == null) metrics = new HashTableMetrics();
+    return metrics;
+  }
+
+  public void disableMetrics() {
+    metrics = null;
+  }
+
+  // Returns the metrics collected so far or null if metrics are disabled
+  public HashTableMetrics getMetrics() {
+    return metrics;
+  }
+
+  // Returns a histogram of the current chain lengths where index i holds
+  // the number of buckets containing exactly i entries.
+  public int[] chainLengthHistogram() {
+    int longest = 0;
+    for (LinkedList<Entry<K, V>> bucket : table)
+      if (bucket != null) longest = Math.max(longest, bucket.size());
+    int[] histogram = new int[longest + 1];
+    for (LinkedList<Entry<K, V>> bucket : table) histogram[bucket == null ? 0 : bucket.size()]++;
+    return histogram;
+  }
+
   // Clears all the contents of the hash-table
   public void clear() {
     Arrays.fill(table, null);
@@ -154,7 +183,7 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
     Entry<K, V> existentEntry = bucketSeekEntry(bucketIndex, entry.key);
     if (existentEntry == null) {
       bucket.add(entry);
-      if (++size > threshold) resizeTable();
+      if (++size > threshold) resize();
       return null; // Use null to indicate that there was no previous entry
     } else {
       V oldVal = existentEntry.value;
@@ -168,11 +197,37 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
 
     if (key == null) return null;
     LinkedList<Entry<K, V>> bucket = table[bucketIndex];
-    if (bucket == null) return null;
-    for (Entry<K, V> entry : bucket) if (entry.key.equals(key)) return entry;
+    if (bucket == null) {
+      if (metrics != null) metrics.recordProbes(0);
+      return null;
+    }
+    if (metrics == null) {
+      for (Entry<K, V> entry : bucket) if (entry.key.equals(key)) return entry;
+      return null;
+    }
+    int probes = 0;
+    for (Entry<K, V> entry : bucket) {
+      probes++;
+      if (entry.key.equals(key)) {
+        metrics.recordProbes(probes);
+        return entry;
+      }
+    }
+    metrics.recordProbes(probes);
     return null;
   }
 
+  // Resizes the table, timing it when metrics are enabled
+  private void resize() {
+    if (metrics == null) {
+      resizeTable();
+      return;
+    }
+    long start = System.nanoTime();
+    resizeTable();
+    metrics.recordResize(System.nanoTime() - start);
+  }
+
   // Resizes the internal table holding buckets of entries
   private void resizeTable() {
 
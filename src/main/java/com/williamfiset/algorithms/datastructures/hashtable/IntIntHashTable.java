@@ -0,0 +1,129 @@
+/**
+ * An open addressing hash-table mapping primitive int keys to primitive int values.
+ *
+ * <p>Unlike {@link HashTableOpenAddressingBase}, which stores boxed keys and values in Object[]
+ * arrays and marks deleted cells with a tombstone object, this table keeps keys and values in
+ * int[] arrays and tracks the state of every bucket in a parallel byte[]. As a result none of the
+ * operations below allocate, except for resizing the table. The collision resolution method is
+ * chosen at construction time, see {@link ProbingMethod}.
+ *
+ * <p>Since there is no null for primitives, lookups of missing keys return a configurable
+ * 'noEntryValue' (0 by default), use containsKey to tell the two cases apart.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public class IntIntHashTable extends IntKeyedHashTable {
+
+  // Consumer of key-value pairs, used to iterate over the table without boxing.
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(int key, int value);
+  }
+
+  private final int noEntryValue;
+  private int[] values;
+
+  public IntIntHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR, 0);
+  }
+
+  public IntIntHashTable(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR, 0);
+  }
+
+  public IntIntHashTable(int capacity, ProbingMethod probing) {
+    this(capacity, DEFAULT_LOAD_FACTOR, probing, 0);
+  }
+
+  // Designated constructor
+  public IntIntHashTable(
+      int capacity, double loadFactor, ProbingMethod probing, int noEntryValue) {
+    super(capacity, loadFactor, probing);
+    this.noEntryValue = noEntryValue;
+    allocate(PrimitiveHashing.tableSizeFor(capacity));
+  }
+
+  @Override
+  void allocateValues(int capacity) {
+    values = new int[capacity];
+  }
+
+  @Override
+  Object valueArray() {
+    return values;
+  }
+
+  @Override
+  void moveValue(Object oldValues, int from, int to) {
+    values[to] = ((int[]) oldValues)[from];
+  }
+
+  // Returns the value returned by get/put/remove when a key is absent
+  public int getNoEntryValue() {
+    return noEntryValue;
+  }
+
+  // Returns the value associated with the key or the 'noEntryValue' if the key is absent
+  public int get(int key) {
+    int i = indexOf(key);
+    return i == -1 ? noEntryValue : values[i];
+  }
+
+  public int getOrDefault(int key, int defaultValue) {
+    int i = indexOf(key);
+    return i == -1 ? defaultValue : values[i];
+  }
+
+  // Places a key-value pair into the hash-table and returns the previous
+  // value associated with the key or the 'noEntryValue' if there was none.
+  public int put(int key, int value) {
+    int i = insertionIndex(key);
+    if (i < 0) {
+      values[-i - 1] = value;
+      return noEntryValue;
+    }
+    int oldValue = values[i];
+    values[i] = value;
+    return oldValue;
+  }
+
+  // Adds 'delta' to the value associated with the key (treating absent keys as
+  // having the value 'noEntryValue') and returns the new value.
+  public int addTo(int key, int delta) {
+    int i = insertionIndex(key);
+    if (i < 0) return values[-i - 1] = noEntryValue + delta;
+    return values[i] += delta;
+  }
+
+  // Removes a key from the map and returns its value or the 'noEntryValue' if it was absent
+  public int remove(int key) {
+    int i = removeIndex(key);
+    return i == -1 ? noEntryValue : values[i];
+  }
+
+  // Calls the consumer with every key-value pair in the table
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < capacity; i++) {
+      if (states[i] == FULL) consumer.accept(keys[i], values[i]);
+    }
+  }
+
+  // Returns the non-unique values found in the hash table
+  public int[] values() {
+    int[] result = new int[keyCount];
+    for (int i = 0, k = 0; i < capacity; i++) if (states[i] == FULL) result[k++] = values[i];
+    return result;
+  }
+
+  // Return a String view of this hash-table.
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    forEach((key, value) -> sb.append(key).append(" => ").append(value).append(", "));
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,131 @@
+/**
+ * The probing logic of the primitive open addressing hash tables with int keys, shared by {@link
+ * IntIntHashTable} and {@link IntObjectHashTable} which only differ by the type of their values.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+abstract class IntKeyedHashTable extends PrimitiveOpenAddressingBase {
+
+  int[] keys;
+
+  IntKeyedHashTable(int capacity, double loadFactor, ProbingMethod probing) {
+    super(capacity, loadFactor, probing);
+  }
+
+  @Override
+  final void allocateArrays(int capacity) {
+    keys = new int[capacity];
+    allocateValues(capacity);
+  }
+
+  abstract void allocateValues(int capacity);
+
+  // Returns the value array, to be passed back to moveValue after the table is reallocated
+  abstract Object valueArray();
+
+  // Copies the value in bucket 'from' of the old value array to bucket 'to'
+  abstract void moveValue(Object oldValues, int from, int to);
+
+  // Returns the bucket index containing the key or -1 if the key is absent
+  final int indexOf(int key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+    for (int i = hash & mask, x = 0; x < capacity; x++) {
+      byte state = states[i];
+      if (state == EMPTY) return -1;
+      if (state == FULL && keys[i] == key) return i;
+      i = (i + step) & mask;
+      step += increment;
+    }
+    return -1;
+  }
+
+  // Returns the bucket containing the key. If the key is absent it is inserted and -(bucket + 1)
+  // is returned so the caller knows to initialize the value. The table is only resized when the
+  // key needs an empty bucket and the table is at its threshold.
+  final int insertionIndex(int key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+
+    // 'j' records the first deleted bucket seen so that it can be reused
+    int i = hash & mask, j = -1;
+    for (int x = 0; x < capacity; x++) {
+      byte state = states[i];
+      if (state == EMPTY) break;
+      if (state == DELETED) {
+        if (j == -1) j = i;
+      } else if (keys[i] == key) {
+        return i;
+      }
+      i = (i + step) & mask;
+      step += increment;
+    }
+
+    if (j == -1) {
+      if (usedBuckets >= threshold) {
+        resizeTable();
+        i = emptyBucket(key);
+      }
+      j = i;
+      usedBuckets++;
+    }
+    states[j] = FULL;
+    keys[j] = key;
+    keyCount++;
+    return -(j + 1);
+  }
+
+  // Returns the first empty bucket on the probe sequence of the key, the table must have no
+  // deleted buckets and not contain the key
+  private int emptyBucket(int key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+    int i = hash & mask;
+    while (states[i] != EMPTY) {
+      i = (i + step) & mask;
+      step += increment;
+    }
+    return i;
+  }
+
+  // Removes the key, returns the bucket it was in (whose value is still there) or -1
+  final int removeIndex(int key) {
+    int i = indexOf(key);
+    if (i == -1) return -1;
+    states[i] = DELETED;
+    keyCount--;
+    return i;
+  }
+
+  private void resizeTable() {
+    int[] oldKeys = keys;
+    byte[] oldStates = states;
+    Object oldValues = valueArray();
+    allocate(resizedCapacity());
+    for (int i = 0; i < oldStates.length; i++) {
+      if (oldStates[i] != FULL) continue;
+      int j = emptyBucket(oldKeys[i]);
+      states[j] = FULL;
+      keys[j] = oldKeys[i];
+      moveValue(oldValues, i, j);
+      usedBuckets++;
+      keyCount++;
+    }
+  }
+
+  public boolean containsKey(int key) {
+    return indexOf(key) != -1;
+  }
+
+  // Returns the keys found in the hash table
+  public int[] keys() {
+    int[] result = new int[keyCount];
+    for (int i = 0, k = 0; i < capacity; i++) if (states[i] == FULL) result[k++] = keys[i];
+    return result;
+  }
+}
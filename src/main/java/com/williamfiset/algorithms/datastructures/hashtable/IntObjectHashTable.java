@@ -0,0 +1,127 @@
+/**
+ * An open addressing hash-table mapping primitive int keys to object values.
+ *
+ * <p>Unlike {@link HashTableOpenAddressingBase}, which stores boxed keys and values in Object[]
+ * arrays and marks deleted cells with a tombstone object, this table keeps keys in an int[] and
+ * tracks the state of every bucket in a parallel byte[]. As a result none of the operations below
+ * box the key or allocate, except for resizing the table. The collision resolution method is
+ * chosen at construction time, see {@link ProbingMethod}.
+ *
+ * <p>NOTE: get and remove return null both when the key is absent and when the key is mapped to
+ * null, use containsKey to tell the two cases apart.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@SuppressWarnings("unchecked")
+public class IntObjectHashTable<V> extends IntKeyedHashTable {
+
+  // Consumer of key-value pairs, used to iterate over the table without boxing.
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+    void accept(int key, V value);
+  }
+
+  private V[] values;
+
+  public IntObjectHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR);
+  }
+
+  public IntObjectHashTable(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR);
+  }
+
+  public IntObjectHashTable(int capacity, ProbingMethod probing) {
+    this(capacity, DEFAULT_LOAD_FACTOR, probing);
+  }
+
+  // Designated constructor
+  public IntObjectHashTable(int capacity, double loadFactor, ProbingMethod probing) {
+    super(capacity, loadFactor, probing);
+    allocate(PrimitiveHashing.tableSizeFor(capacity));
+  }
+
+  @Override
+  void allocateValues(int capacity) {
+    values = (V[]) new Object[capacity];
+  }
+
+  @Override
+  Object valueArray() {
+    return values;
+  }
+
+  @Override
+  void moveValue(Object oldValues, int from, int to) {
+    values[to] = ((V[]) oldValues)[from];
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    Arrays.fill(values, null);
+  }
+
+  // Returns the value associated with the key or null if the key is absent
+  public V get(int key) {
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  public V getOrDefault(int key, V defaultValue) {
+    int i = indexOf(key);
+    return i == -1 ? defaultValue : values[i];
+  }
+
+  // Places a key-value pair into the hash-table and returns the previous
+  // value associated with the key or null if there was none.
+  public V put(int key, V value) {
+    int i = insertionIndex(key);
+    if (i < 0) {
+      values[-i - 1] = value;
+      return null;
+    }
+    V oldValue = values[i];
+    values[i] = value;
+    return oldValue;
+  }
+
+  // Removes a key from the map and returns its value or null if it was absent
+  public V remove(int key) {
+    int i = removeIndex(key);
+    if (i == -1) return null;
+    V oldValue = values[i];
+    values[i] = null;
+    return oldValue;
+  }
+
+  // Calls the consumer with every key-value pair in the table
+  public void forEach(EntryConsumer<V> consumer) {
+    for (int i = 0; i < capacity; i++) {
+      if (states[i] == FULL) consumer.accept(keys[i], values[i]);
+    }
+  }
+
+  // Returns a list of non-unique values found in the hash table
+  public List<V> values() {
+    List<V> result = new ArrayList<>(keyCount);
+    for (int i = 0; i < capacity; i++) if (states[i] == FULL) result.add(values[i]);
+    return result;
+  }
+
+  // Return a String view of this hash-table.
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    forEach((key, value) -> sb.append(key).append(" => ").append(value).append(", "));
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,214 @@
+/**
+ * An open addressing hash-table mapping primitive long keys to primitive long values.
+ *
+ * <p>Unlike {@link HashTableOpenAddressingBase}, which stores boxed keys and values in Object[]
+ * arrays and marks deleted cells with a tombstone object, this table keeps keys and values in
+ * long[] arrays and tracks the state of every bucket in a parallel byte[]. As a result none of the
+ * operations below allocate, except for resizing the table. The collision resolution method is
+ * chosen at construction time, see {@link ProbingMethod}.
+ *
+ * <p>Since there is no null for primitives, lookups of missing keys return a configurable
+ * 'noEntryValue' (0 by default), use containsKey to tell the two cases apart.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public class LongLongHashTable extends PrimitiveOpenAddressingBase {
+
+  // Consumer of key-value pairs, used to iterate over the table without boxing.
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, long value);
+  }
+
+  private final long noEntryValue;
+  private long[] keys;
+  private long[] values;
+
+  public LongLongHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR, 0);
+  }
+
+  public LongLongHashTable(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, ProbingMethod.LINEAR, 0);
+  }
+
+  public LongLongHashTable(int capacity, ProbingMethod probing) {
+    this(capacity, DEFAULT_LOAD_FACTOR, probing, 0);
+  }
+
+  // Designated constructor
+  public LongLongHashTable(
+      int capacity, double loadFactor, ProbingMethod probing, long noEntryValue) {
+    super(capacity, loadFactor, probing);
+    this.noEntryValue = noEntryValue;
+    allocate(PrimitiveHashing.tableSizeFor(capacity));
+  }
+
+  @Override
+  void allocateArrays(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+  }
+
+  // Returns the value returned by get/put/remove when a key is absent
+  public long getNoEntryValue() {
+    return noEntryValue;
+  }
+
+  // Returns the bucket index containing the key or -1 if the key is absent
+  private int indexOf(long key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+    for (int i = hash & mask, x = 0; x < capacity; x++) {
+      byte state = states[i];
+      if (state == EMPTY) return -1;
+      if (state == FULL && keys[i] == key) return i;
+      i = (i + step) & mask;
+      step += increment;
+    }
+    return -1;
+  }
+
+  // Returns the bucket containing the key. If the key is absent it is inserted and -(bucket + 1)
+  // is returned, see IntKeyedHashTable.insertionIndex.
+  private int insertionIndex(long key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+
+    // 'j' records the first deleted bucket seen so that it can be reused
+    int i = hash & mask, j = -1;
+    for (int x = 0; x < capacity; x++) {
+      byte state = states[i];
+      if (state == EMPTY) break;
+      if (state == DELETED) {
+        if (j == -1) j = i;
+      } else if (keys[i] == key) {
+        return i;
+      }
+      i = (i + step) & mask;
+      step += increment;
+    }
+
+    if (j == -1) {
+      if (usedBuckets >= threshold) {
+        resizeTable();
+        i = emptyBucket(key);
+      }
+      j = i;
+      usedBuckets++;
+    }
+    states[j] = FULL;
+    keys[j] = key;
+    keyCount++;
+    return -(j + 1);
+  }
+
+  // Returns the first empty bucket on the probe sequence of the key, the table must have no
+  // deleted buckets and not contain the key
+  private int emptyBucket(long key) {
+    int hash = PrimitiveHashing.hash(key);
+    int step = probing.initialStep(PrimitiveHashing.secondaryHash(hash));
+    int increment = probing.stepIncrement();
+    int i = hash & mask;
+    while (states[i] != EMPTY) {
+      i = (i + step) & mask;
+      step += increment;
+    }
+    return i;
+  }
+
+  public boolean containsKey(long key) {
+    return indexOf(key) != -1;
+  }
+
+  // Returns the value associated with the key or the 'noEntryValue' if the key is absent
+  public long get(long key) {
+    int i = indexOf(key);
+    return i == -1 ? noEntryValue : values[i];
+  }
+
+  public long getOrDefault(long key, long defaultValue) {
+    int i = indexOf(key);
+    return i == -1 ? defaultValue : values[i];
+  }
+
+  // Places a key-value pair into the hash-table and returns the previous
+  // value associated with the key or the 'noEntryValue' if there was none.
+  public long put(long key, long value) {
+    int i = insertionIndex(key);
+    if (i < 0) {
+      values[-i - 1] = value;
+      return noEntryValue;
+    }
+    long oldValue = values[i];
+    values[i] = value;
+    return oldValue;
+  }
+
+  // Adds 'delta' to the value associated with the key (treating absent keys as
+  // having the value 'noEntryValue') and returns the new value.
+  public long addTo(long key, long delta) {
+    int i = insertionIndex(key);
+    if (i < 0) return values[-i - 1] = noEntryValue + delta;
+    return values[i] += delta;
+  }
+
+  // Removes a key from the map and returns its value or the 'noEntryValue' if it was absent
+  public long remove(long key) {
+    int i = indexOf(key);
+    if (i == -1) return noEntryValue;
+    states[i] = DELETED;
+    keyCount--;
+    return values[i];
+  }
+
+  private void resizeTable() {
+    long[] oldKeys = keys, oldValues = values;
+    byte[] oldStates = states;
+    allocate(resizedCapacity());
+    for (int i = 0; i < oldStates.length; i++) {
+      if (oldStates[i] != FULL) continue;
+      int j = emptyBucket(oldKeys[i]);
+      states[j] = FULL;
+      keys[j] = oldKeys[i];
+      values[j] = oldValues[i];
+      usedBuckets++;
+      keyCount++;
+    }
+  }
+
+  // Calls the consumer with every key-value pair in the table
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < capacity; i++) {
+      if (states[i] == FULL) consumer.accept(keys[i], values[i]);
+    }
+  }
+
+  // Returns the keys found in the hash table
+  public long[] keys() {
+    long[] result = new long[keyCount];
+    for (int i = 0, k = 0; i < capacity; i++) if (states[i] == FULL) result[k++] = keys[i];
+    return result;
+  }
+
+  // Returns the non-unique values found in the hash table
+  public long[] values() {
+    long[] result = new long[keyCount];
+    for (int i = 0, k = 0; i < capacity; i++) if (states[i] == FULL) result[k++] = values[i];
+    return result;
+  }
+
+  // Return a String view of this hash-table.
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    forEach((key, value) -> sb.append(key).append(" => ").append(value).append(", "));
+    sb.append("}");
+    return sb.toString();
+  }
+}
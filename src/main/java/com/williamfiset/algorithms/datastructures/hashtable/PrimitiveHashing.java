@@ -0,0 +1,56 @@
+/**
+ * Hash functions shared by the primitive open addressing hash tables. Since the tables use a
+ * power of two capacity and mask off the low bits of the hash, the keys need to be scrambled
+ * first; otherwise keys such as sequential ids or multiples of a power of two collide heavily.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+final class PrimitiveHashing {
+
+  private PrimitiveHashing() {}
+
+  static final int MIN_CAPACITY = 8;
+  static final int MAX_CAPACITY = 1 << 30;
+
+  // MurmurHash3 32-bit finalizer
+  static int hash(int key) {
+    int h = key;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  // MurmurHash3 64-bit finalizer, folded down to 32 bits
+  static int hash(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h ^ (int) (h >>> 32);
+  }
+
+  // The secondary hash used by double hashing reuses the high bits of the primary hash which are
+  // discarded by the index mask, so it is independent of the starting bucket.
+  static int secondaryHash(int hash) {
+    return Integer.rotateLeft(hash, 16);
+  }
+
+  // Returns the smallest power of two which is >= the requested capacity
+  static int tableSizeFor(int capacity) {
+    if (capacity >= MAX_CAPACITY) return MAX_CAPACITY;
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+  }
+
+  static void checkArguments(int capacity, double loadFactor) {
+    if (capacity <= 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    if (!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+  }
+}
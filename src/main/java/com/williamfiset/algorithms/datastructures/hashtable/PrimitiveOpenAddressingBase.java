@@ -0,0 +1,79 @@
+/**
+ * The state shared by the primitive open addressing hash tables: the bucket states, the key and
+ * bucket counts and the sizing policy. Subclasses add the key array (whose type decides how keys
+ * are hashed and compared) and the value array.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.Arrays;
+
+abstract class PrimitiveOpenAddressingBase {
+
+  static final int DEFAULT_CAPACITY = 16;
+  static final double DEFAULT_LOAD_FACTOR = 0.65;
+
+  // Bucket states
+  static final byte EMPTY = 0, FULL = 1, DELETED = 2;
+
+  final ProbingMethod probing;
+  final double loadFactor;
+  int capacity, mask, threshold;
+
+  // 'usedBuckets' counts the buckets which are full or deleted while
+  // 'keyCount' tracks the number of keys currently inside the hash-table.
+  int usedBuckets, keyCount;
+
+  byte[] states;
+
+  // Subclasses call allocate once their own fields are initialized
+  PrimitiveOpenAddressingBase(int capacity, double loadFactor, ProbingMethod probing) {
+    PrimitiveHashing.checkArguments(capacity, loadFactor);
+    if (probing == null) throw new IllegalArgumentException("Null probing method");
+    this.probing = probing;
+    this.loadFactor = loadFactor;
+  }
+
+  // Creates empty arrays with the given capacity
+  final void allocate(int newCapacity) {
+    capacity = newCapacity;
+    mask = capacity - 1;
+    threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    states = new byte[capacity];
+    usedBuckets = keyCount = 0;
+    allocateArrays(capacity);
+  }
+
+  // Allocates the key and value arrays
+  abstract void allocateArrays(int capacity);
+
+  // Returns the capacity to rehash into: the table grows, or is rebuilt at the same size when
+  // most of the used buckets are deleted cells rather than live keys.
+  final int resizedCapacity() {
+    boolean grow = keyCount >= threshold / 2;
+    if (grow && capacity == PrimitiveHashing.MAX_CAPACITY)
+      throw new IllegalStateException("Hash table is full");
+    return grow ? capacity << 1 : capacity;
+  }
+
+  // Returns the number of keys currently inside the hash-table
+  public int size() {
+    return keyCount;
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return keyCount == 0;
+  }
+
+  // Returns the capacity of the hashtable (used mostly for testing)
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void clear() {
+    Arrays.fill(states, EMPTY);
+    usedBuckets = keyCount = 0;
+  }
+}
@@ -0,0 +1,30 @@
+/**
+ * The collision resolution methods supported by the primitive open addressing hash tables. The
+ * primitive tables always use a power of two capacity, which lets every method visit all the
+ * buckets:
+ *
+ * <ul>
+ *   <li>LINEAR: H(k, x) = h(k) + x
+ *   <li>QUADRATIC: H(k, x) = h(k) + (x^2 + x) / 2
+ *   <li>DOUBLE_HASHING: H(k, x) = h(k) + x * h2(k), where h2(k) is forced to be odd
+ * </ul>
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public enum ProbingMethod {
+  LINEAR,
+  QUADRATIC,
+  DOUBLE_HASHING;
+
+  // All three probing functions can be computed incrementally as i += step, step += increment,
+  // which keeps the probing loops free of multiplications and branches on the probing method.
+  int initialStep(int secondaryHash) {
+    return this == DOUBLE_HASHING ? (secondaryHash | 1) : 1;
+  }
+
+  int stepIncrement() {
+    return this == QUADRATIC ? 1 : 0;
+  }
+}
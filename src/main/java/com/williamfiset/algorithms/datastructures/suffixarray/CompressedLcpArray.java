@@ -0,0 +1,92 @@
+/**
+ * A compressed representation of the LCP array using about 2n bits instead of 32n bits, based on
+ * the succinct PLCP encoding of Sadakane.
+ *
+ * <p>The permuted LCP array (see {@link LcpBuilder}) satisfies PLCP[i] >= PLCP[i - 1] - 1, so the
+ * sequence PLCP[i] + i is non-decreasing and never exceeds n. It is stored as a bitvector where
+ * the i'th set bit is at position PLCP[i] + 2i, that is each value is written as the difference to
+ * its predecessor in unary, which takes at most 2n bits. PLCP[i] is then select(i) - 2i, and
+ * LCP[k] = PLCP[sa[k]].
+ *
+ * <p>To find the i'th set bit quickly the position of every 64th set bit is sampled, from which a
+ * short scan of the bitvector finds the answer. Runs of many zeros (very long repeats in the text)
+ * make that scan longer.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+public class CompressedLcpArray {
+
+  private static final int SAMPLE_SHIFT = 6;
+
+  private final int[] sa;
+  private final long[] bits;
+
+  // samples[j] holds the position of set bit number j * 64
+  private final int[] samples;
+
+  // sa - The suffix array
+  // plcp - The permuted LCP array of the same text, which is not referenced afterwards
+  public CompressedLcpArray(int[] sa, int[] plcp) {
+    if (sa.length != plcp.length) throw new IllegalArgumentException("Length mismatch");
+    final int n = sa.length;
+    this.sa = sa;
+    bits = new long[(int) ((2L * n + 64) >>> 6)];
+    samples = new int[(n >>> SAMPLE_SHIFT) + 1];
+    for (int i = 0; i < n; i++) {
+      long pos = (long) plcp[i] + 2L * i;
+      if (pos >= 2L * n || (i > 0 && plcp[i] < plcp[i - 1] - 1))
+        throw new IllegalArgumentException("Not a PLCP array");
+      bits[(int) (pos >>> 6)] |= 1L << pos;
+      if ((i & ((1 << SAMPLE_SHIFT) - 1)) == 0) samples[i >>> SAMPLE_SHIFT] = (int) pos;
+    }
+  }
+
+  public int length() {
+    return sa.length;
+  }
+
+  // Returns the position of the i'th set bit (counting from zero)
+  private int select(int i) {
+    int pos = samples[i >>> SAMPLE_SHIFT];
+    int remaining = i & ((1 << SAMPLE_SHIFT) - 1);
+    int word = pos >>> 6;
+
+    // Drop the bits before the sample in its word and count from the sample itself
+    long w = bits[word] & (-1L << pos);
+    while (true) {
+      int count = Long.bitCount(w);
+      if (remaining < count) break;
+      remaining -= count;
+      w = bits[++word];
+    }
+    for (; remaining > 0; remaining--) w &= w - 1;
+    return (word << 6) + Long.numberOfTrailingZeros(w);
+  }
+
+  // Returns PLCP[i], the length of the longest common prefix of the suffix starting
+  // at text position i and the suffix before it in the suffix array.
+  public int plcp(int i) {
+    if (i < 0 || i >= sa.length) throw new IndexOutOfBoundsException("Index: " + i);
+    return select(i) - 2 * i;
+  }
+
+  // Returns LCP[k], the longest common prefix of suffixes sa[k - 1] and sa[k]
+  public int get(int k) {
+    if (k < 0 || k >= sa.length) throw new IndexOutOfBoundsException("Index: " + k);
+    return plcp(sa[k]);
+  }
+
+  // Decompresses the whole LCP array
+  public int[] toArray() {
+    int[] lcp = new int[sa.length];
+    for (int k = 0; k < sa.length; k++) lcp[k] = get(k);
+    return lcp;
+  }
+
+  // Returns the approximate number of bytes used, not counting the suffix array
+  public long sizeInBytes() {
+    return 8L * bits.length + 4L * samples.length;
+  }
+}
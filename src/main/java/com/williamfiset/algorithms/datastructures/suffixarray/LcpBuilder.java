@@ -0,0 +1,125 @@
+/**
+ * Algorithms to build the longest common prefix (LCP) array of a suffix array.
+ *
+ * <p>Kasai's algorithm visits the suffixes in text order and for each one jumps to its position in
+ * the suffix array through the inverse suffix array, which means random memory accesses into two
+ * arrays for every character of the text.
+ *
+ * <p>The Φ algorithm (Kärkkäinen, Manzini and Puglisi 2009) instead computes the permuted LCP
+ * array (PLCP), which is the LCP array stored in text order: PLCP[sa[i]] = LCP[i]. It first
+ * computes Φ[sa[i]] = sa[i - 1], the suffix preceding each suffix in the suffix array, and then
+ * PLCP[i] is the length of the common prefix of suffixes i and Φ[i]. Since PLCP[i] is at least
+ * PLCP[i - 1] - 1, a scan in text order takes linear time overall and the Φ array can be
+ * overwritten in place by PLCP.
+ *
+ * <p>The scan can also be split into independent ranges of text positions, each range starting its
+ * comparisons from scratch, which lets the work be spread across threads at the cost of comparing
+ * up to PLCP[lo] extra characters at the start of each range [lo, hi).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public final class LcpBuilder {
+
+  private LcpBuilder() {}
+
+  // Returns the LCP array using Kasai's algorithm
+  // http://www.mi.fu-berlin.de/wiki/pub/ABI/RnaSeqP4/suffix-array.pdf
+  public static int[] kasai(int[] text, int[] sa) {
+    final int N = sa.length;
+    int[] lcp = new int[N];
+    int[] inv = new int[N];
+    for (int i = 0; i < N; i++) inv[sa[i]] = i;
+    for (int i = 0, len = 0; i < N; i++) {
+      if (inv[i] > 0) {
+        int k = sa[inv[i] - 1];
+        while ((i + len < N) && (k + len < N) && text[i + len] == text[k + len]) len++;
+        lcp[inv[i]] = len;
+        if (len > 0) len--;
+      }
+    }
+    return lcp;
+  }
+
+  // Returns the permuted LCP array, PLCP[sa[i]] = LCP[i]
+  public static int[] plcp(int[] text, int[] sa) {
+    int[] phi = phi(sa, 0, sa.length, new int[sa.length]);
+    return fillPlcp(text, phi, 0, sa.length);
+  }
+
+  // Returns the permuted LCP array computing it in 'parts' independent ranges on the pool
+  public static int[] plcp(int[] text, int[] sa, ForkJoinPool pool, int parts) {
+    if (parts <= 0) throw new IllegalArgumentException("Illegal number of parts: " + parts);
+    final int[] phi = new int[sa.length];
+    runInParts(pool, parts, sa.length, (lo, hi) -> phi(sa, lo, hi, phi));
+    runInParts(pool, parts, sa.length, (lo, hi) -> fillPlcp(text, phi, lo, hi));
+    return phi;
+  }
+
+  // Returns the LCP array using the Φ algorithm
+  public static int[] lcp(int[] text, int[] sa) {
+    return permute(plcp(text, sa), sa, 0, sa.length, new int[sa.length]);
+  }
+
+  // Returns the LCP array using the Φ algorithm split in 'parts' ranges run on the pool
+  public static int[] lcp(int[] text, int[] sa, ForkJoinPool pool, int parts) {
+    final int[] plcp = plcp(text, sa, pool, parts);
+    final int[] lcp = new int[sa.length];
+    runInParts(pool, parts, sa.length, (lo, hi) -> permute(plcp, sa, lo, hi, lcp));
+    return lcp;
+  }
+
+  // Sets Φ[sa[i]] = sa[i - 1] for i in [lo, hi), the suffix with no predecessor gets -1.
+  // Different ranges write to different positions since sa is a permutation.
+  private static int[] phi(int[] sa, int lo, int hi, int[] phi) {
+    for (int i = lo; i < hi; i++) phi[sa[i]] = i == 0 ? -1 : sa[i - 1];
+    return phi;
+  }
+
+  // Replaces Φ[i] by PLCP[i] for text positions in [lo, hi)
+  private static int[] fillPlcp(int[] text, int[] phi, int lo, int hi) {
+    final int n = text.length;
+    for (int i = lo, h = 0; i < hi; i++) {
+      int j = phi[i];
+      if (j == -1) {
+        phi[i] = h = 0;
+        continue;
+      }
+      while (i + h < n && j + h < n && text[i + h] == text[j + h]) h++;
+      phi[i] = h;
+      if (h > 0) h--;
+    }
+    return phi;
+  }
+
+  private static int[] permute(int[] plcp, int[] sa, int lo, int hi, int[] lcp) {
+    for (int i = lo; i < hi; i++) lcp[i] = plcp[sa[i]];
+    return lcp;
+  }
+
+  @FunctionalInterface
+  private interface RangeTask {
+    void run(int lo, int hi);
+  }
+
+  // Splits [0, n) into 'parts' contiguous ranges and runs the task on each of them in the pool
+  private static void runInParts(ForkJoinPool pool, int parts, int n, RangeTask task) {
+    parts = Math.max(1, Math.min(parts, n));
+    if (parts == 1) {
+      task.run(0, n);
+      return;
+    }
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(parts);
+    for (int p = 0; p < parts; p++) {
+      final int lo = (int) ((long) n * p / parts), hi = (int) ((long) n * (p + 1) / parts);
+      tasks.add(pool.submit(() -> task.run(lo, hi)));
+    }
+    for (ForkJoinTask<?> t : tasks) t.join();
+  }
+}
@@ -0,0 +1,242 @@
+/**
+ * A read-only substring index over a text whose suffix array and LCP array live in a file which is
+ * memory-mapped, so the index can be larger than the heap and opening it takes constant time: the
+ * operating system pages in the parts of the file which queries touch.
+ *
+ * <p>The index is built once in memory with any {@link SuffixArray} implementation and written with
+ * {@link #write}. The file contains a small header followed by the text (one byte per character,
+ * so all text values must be in the range [0, 256)), the suffix array and the LCP array. Every
+ * section is mapped in chunks of at most 1GB to get around the 2GB limit of a single mapping.
+ *
+ * <p>Queries binary search the suffix array for the range of suffixes starting with the pattern.
+ * The search remembers how many characters of the pattern match the suffixes at both ends of the
+ * current range, so characters known to match are not compared again. Once the first suffix of
+ * the range is found, its end is usually found by scanning the LCP array (a short sequential read)
+ * and only falls back to a second binary search when there are many occurrences.
+ *
+ * <p>Time Complexity: O(m log(n)) per query for a pattern of length m, plus O(k) to report k
+ * occurrences.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class MappedSuffixArrayIndex {
+
+  // File format identifiers, MAGIC spells "SAIX"
+  private static final int MAGIC = 0x53414958, VERSION = 1, HEADER_SIZE = 16;
+
+  // Sections are mapped in chunks of this many bytes (a multiple of 4 so ints never straddle)
+  private static final int CHUNK_SHIFT = 30;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+  // How many LCP entries to scan for the end of the range before switching to binary search
+  private static final int LCP_SCAN_LIMIT = 64;
+
+  private final int n;
+  private final MappedSection text, sa, lcp;
+
+  // A region of the file mapped as a sequence of chunks
+  private static class MappedSection {
+    final ByteBuffer[] chunks;
+
+    MappedSection(FileChannel channel, long offset, long length) throws IOException {
+      chunks = new ByteBuffer[(int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+      for (int i = 0; i < chunks.length; i++) {
+        long start = (long) i << CHUNK_SHIFT;
+        long size = Math.min(CHUNK_SIZE, length - start);
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, size);
+      }
+    }
+
+    int getByte(long index) {
+      return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & (CHUNK_SIZE - 1))) & 0xFF;
+    }
+
+    int getInt(long index) {
+      long pos = index << 2;
+      return chunks[(int) (pos >>> CHUNK_SHIFT)].getInt((int) (pos & (CHUNK_SIZE - 1)));
+    }
+  }
+
+  private MappedSuffixArrayIndex(FileChannel channel) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    while (header.hasRemaining() && channel.read(header) != -1) {}
+    header.flip();
+    if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+      throw new IOException("Not a suffix array index");
+    int version = header.getInt();
+    if (version != VERSION) throw new IOException("Unsupported index version: " + version);
+    n = header.getInt();
+    if (n < 0 || channel.size() < HEADER_SIZE + textBytes(n) + 8L * n)
+      throw new IOException("Truncated suffix array index");
+
+    long offset = HEADER_SIZE;
+    text = new MappedSection(channel, offset, n);
+    offset += textBytes(n);
+    sa = new MappedSection(channel, offset, 4L * n);
+    offset += 4L * n;
+    lcp = new MappedSection(channel, offset, 4L * n);
+  }
+
+  // The text section is padded so that the following int sections are 4 byte aligned
+  private static long textBytes(int n) {
+    return (n + 3L) & ~3L;
+  }
+
+  // Memory-maps an index file written by 'write'
+  public static MappedSuffixArrayIndex open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedSuffixArrayIndex(channel);
+    }
+  }
+
+  // Builds the suffix array and LCP array of the suffix array's text (if needed) and writes the
+  // index to a file. All text values must fit in a byte.
+  public static void write(SuffixArray suffixArray, Path file) throws IOException {
+    final int[] T = suffixArray.T, SA = suffixArray.getSa(), LCP = suffixArray.getLcpArray();
+    final int n = T.length;
+    for (int value : T) {
+      if (value < 0 || value > 0xFF)
+        throw new IllegalArgumentException("Text value does not fit in a byte: " + value);
+    }
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0);
+      for (int i = 0; i < textBytes(n); i++) {
+        if (!buffer.hasRemaining()) drain(buffer, channel);
+        buffer.put(i < n ? (byte) T[i] : 0);
+      }
+      for (int[] section : new int[][] {SA, LCP}) {
+        for (int value : section) {
+          if (buffer.remaining() < 4) drain(buffer, channel);
+          buffer.putInt(value);
+        }
+      }
+      drain(buffer, channel);
+    }
+  }
+
+  private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  public int getTextLength() {
+    return n;
+  }
+
+  // Returns the character at index i of the text
+  public int charAt(int i) {
+    return text.getByte(i);
+  }
+
+  // Returns the i'th entry of the suffix array
+  public int sa(int i) {
+    return sa.getInt(i);
+  }
+
+  // Returns the i'th entry of the LCP array
+  public int lcp(int i) {
+    return lcp.getInt(i);
+  }
+
+  // Converts a pattern to bytes, returns null if it contains characters which cannot be in the text
+  private static byte[] toBytes(String pattern) {
+    if (pattern == null) throw new IllegalArgumentException("Null pattern");
+    byte[] bytes = new byte[pattern.length()];
+    for (int i = 0; i < bytes.length; i++) {
+      char c = pattern.charAt(i);
+      if (c > 0xFF) return null;
+      bytes[i] = (byte) c;
+    }
+    return bytes;
+  }
+
+  // Returns how many characters of the pattern, starting from 'from', match the suffix
+  private int matchLength(int suffix, byte[] pattern, int from) {
+    int k = from;
+    while (k < pattern.length && suffix + k < n && text.getByte(suffix + k) == (pattern[k] & 0xFF))
+      k++;
+    return k;
+  }
+
+  // Finds the index of the first suffix whose first m characters are >= the pattern (strict is
+  // false) or > the pattern (strict is true). 'lo' and 'hi' track how many characters of the
+  // pattern match the suffixes just outside the range, anything inside the range shares at least
+  // the smaller of the two.
+  private int bound(byte[] pattern, boolean strict) {
+    final int m = pattern.length;
+    int left = -1, right = n, lo = 0, hi = 0;
+    while (right - left > 1) {
+      int mid = (left + right) >>> 1;
+      int suffix = sa(mid);
+      int k = matchLength(suffix, pattern, Math.min(lo, hi));
+      boolean greater;
+      if (k == m) greater = !strict;
+      else if (suffix + k == n) greater = false;
+      else greater = text.getByte(suffix + k) > (pattern[k] & 0xFF);
+      if (greater) {
+        right = mid;
+        hi = k;
+      } else {
+        left = mid;
+        lo = k;
+      }
+    }
+    return right;
+  }
+
+  // Returns the range [first, last) of the suffix array holding the suffixes starting with the
+  // pattern, packed into a long as (first << 32) | last.
+  private long range(byte[] pattern) {
+    if (pattern.length == 0) return n;
+    int first = bound(pattern, false);
+    if (first == n || matchLength(sa(first), pattern, 0) < pattern.length) {
+      return ((long) first << 32) | first;
+    }
+    int last = first + 1;
+    while (last < n && last - first <= LCP_SCAN_LIMIT && lcp(last) >= pattern.length) last++;
+    if (last < n && lcp(last) >= pattern.length) last = bound(pattern, true);
+    return ((long) first << 32) | last;
+  }
+
+  // Returns true if the pattern occurs in the text
+  public boolean contains(String pattern) {
+    return countOccurrences(pattern) > 0;
+  }
+
+  // Returns the number of (possibly overlapping) occurrences of the pattern in the text
+  public int countOccurrences(String pattern) {
+    byte[] bytes = toBytes(pattern);
+    if (bytes == null) return 0;
+    long range = range(bytes);
+    return (int) range - (int) (range >>> 32);
+  }
+
+  // Returns the starting positions of all the occurrences of the pattern in increasing order
+  public int[] locate(String pattern) {
+    byte[] bytes = toBytes(pattern);
+    if (bytes == null) return new int[0];
+    long range = range(bytes);
+    int first = (int) (range >>> 32), last = (int) range;
+    int[] positions = new int[last - first];
+    for (int i = first; i < last; i++) positions[i - first] = sa(i);
+    Arrays.sort(positions);
+    return positions;
+  }
+}
@@ -5,6 +5,8 @@
  */
 package com.williamfiset.algorithms.datastructures.suffixarray;
 
+import java.util.concurrent.ForkJoinPool;
+
 public abstract class SuffixArray {
 
   // Length of the suffix array
@@ -44,6 +46,27 @@ public abstract class SuffixArray {
     return lcp;
   }
 
+  // Returns the LCP array, building it (if it was not built yet) in 'parts' ranges on the pool.
+  public int[] getLcpArray(ForkJoinPool pool, int parts) {
+    if (constructedLcpArray) return lcp;
+    buildSuffixArray();
+    lcp = LcpBuilder.lcp(T, sa, pool, parts);
+    constructedLcpArray = true;
+    return lcp;
+  }
+
+  // Returns the LCP array in a compressed form using about 2 bits per character. This does not
+  // keep a full LCP array around, unless one was already built.
+  public CompressedLcpArray getCompressedLcpArray() {
+    buildSuffixArray();
+    if (constructedLcpArray) {
+      int[] plcp = new int[N];
+      for (int i = 0; i < N; i++) plcp[sa[i]] = lcp[i];
+      return new CompressedLcpArray(sa, plcp);
+    }
+    return new CompressedLcpArray(sa, LcpBuilder.plcp(T, sa));
+  }
+
   // Builds the suffix array by calling the construct() method.
   protected void buildSuffixArray() {
     if (constructedSa) return;
@@ -51,11 +74,11 @@ public abstract class SuffixArray {
     constructedSa = true;
   }
 
-  // Builds the LCP array by first creating the SA and then running the kasai algorithm.
+  // Builds the LCP array by first creating the SA and then running the Φ algorithm.
   protected void buildLcpArray() {
     if (constructedLcpArray) return;
     buildSuffixArray();
-    kasai();
+    lcp = LcpBuilder.lcp(T, sa);
     constructedLcpArray = true;
   }
 
@@ -70,22 +93,6 @@ public abstract class SuffixArray {
   // as there are multiple ways to do this.
   protected abstract void construct();
 
-  // Use Kasai algorithm to build LCP array
-  // http://www.mi.fu-berlin.de/wiki/pub/ABI/RnaSeqP4/suffix-array.pdf
-  private void kasai() {
-    lcp = new int[N];
-    int[] inv = new int[N];
-    for (int i = 0; i < N; i++) inv[sa[i]] = i;
-    for (int i = 0, len = 0; i < N; i++) {
-      if (inv[i] > 0) {
-        int k = sa[inv[i] - 1];
-        while ((i + len < N) && (k + len < N) && T[i + len] == T[k + len]) len++;
-        lcp[inv[i]] = len;
-        if (len > 0) len--;
-      }
-    }
-  }
-
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
@@ -0,0 +1,187 @@
+/**
+ * Suffix array construction using the SA-IS (induced sorting) algorithm by Nong, Zhang and Chan.
+ *
+ * <p>Suffixes are classified as S-type (smaller than the following suffix) or L-type (larger). The
+ * leftmost S-type suffixes of each run (LMS suffixes) are placed at the ends of their buckets, the
+ * L-type and S-type suffixes are then induced from them in two linear scans. If some LMS substrings
+ * are equal, the problem is reduced to sorting a string of LMS substring names which is at most
+ * half as long and solved recursively.
+ *
+ * <p>Compared to {@link SuffixArrayFast} this runs in linear time and needs fewer temporary arrays.
+ * The LMS suffixes are sorted and named inside the suffix array itself, so besides the suffix array
+ * the top level only allocates one byte per character for the suffix types and the reduced string
+ * of at most n / 2 ints. The recursive call then needs as much again for a string at most half as
+ * long. SuffixArrayFast allocates three extra int arrays of the text length instead.
+ *
+ * <p>Time Complexity: O(n + alphabetSize)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.suffixarray;
+
+public class SuffixArraySais extends SuffixArray {
+
+  private static final int DEFAULT_ALPHABET_SIZE = 256;
+
+  // Below this length sorting the suffixes directly is faster than induced sorting
+  private static final int NAIVE_THRESHOLD = 10;
+
+  private final int alphabetSize;
+
+  public SuffixArraySais(String text) {
+    this(toIntArray(text), DEFAULT_ALPHABET_SIZE);
+  }
+
+  public SuffixArraySais(int[] text) {
+    this(text, DEFAULT_ALPHABET_SIZE);
+  }
+
+  // Designated constructor, all the values of the text must be in the range [0, alphabetSize)
+  public SuffixArraySais(int[] text, int alphabetSize) {
+    super(text);
+    if (alphabetSize <= 0) throw new IllegalArgumentException("Illegal alphabet size");
+    for (int value : text) {
+      if (value < 0 || value >= alphabetSize)
+        throw new IllegalArgumentException("Text value out of range: " + value);
+    }
+    this.alphabetSize = alphabetSize;
+  }
+
+  @Override
+  protected void construct() {
+    sa = sais(T, alphabetSize - 1);
+  }
+
+  // Builds the suffix array of 's' whose values are all in the range [0, upper]
+  private static int[] sais(int[] s, int upper) {
+    final int n = s.length;
+    if (n < NAIVE_THRESHOLD) return naive(s);
+
+    // ls[i] is true if suffix i is S-type, i.e. it is smaller than suffix i + 1.
+    // The last suffix is L-type since it is longer than the empty suffix.
+    boolean[] ls = new boolean[n];
+    for (int i = n - 2; i >= 0; i--) ls[i] = (s[i] == s[i + 1]) ? ls[i + 1] : (s[i] < s[i + 1]);
+
+    // Bucket boundaries: L-type suffixes starting with character c are placed from sumL[c]
+    // and S-type suffixes starting with c are placed from sumS[c] (bucket tails come from
+    // sumL[c + 1]).
+    int[] sumL = new int[upper + 2], sumS = new int[upper + 2];
+    for (int i = 0; i < n; i++) {
+      if (!ls[i]) sumS[s[i]]++;
+      else sumL[s[i] + 1]++;
+    }
+    for (int i = 0; i <= upper; i++) {
+      sumS[i] += sumL[i];
+      sumL[i + 1] += sumS[i];
+    }
+
+    int m = 0;
+    for (int i = 1; i < n; i++) if (isLms(ls, i)) m++;
+
+    int[] sa = new int[n];
+    int[] buf = new int[upper + 2];
+    induce(s, sa, ls, null, sumL, sumS, buf);
+
+    if (m > 0) {
+      // The LMS suffixes now appear in sa sorted by their LMS substrings, move them to sa[0, m)
+      for (int i = 0, j = 0; i < n; i++) if (isLms(ls, sa[i])) sa[j++] = sa[i];
+
+      // Name each LMS substring by its rank, giving equal substrings the same name. LMS positions
+      // are at least 2 apart and m <= n / 2, so the name of position p can be kept in
+      // sa[m + p / 2], which leaves the names in text order.
+      java.util.Arrays.fill(sa, m, n, -1);
+      int recUpper = 0;
+      sa[m + (sa[0] >>> 1)] = 0;
+      for (int i = 1; i < m; i++) {
+        if (!sameLmsSubstring(s, ls, sa[i - 1], sa[i])) recUpper++;
+        sa[m + (sa[i] >>> 1)] = recUpper;
+      }
+      int[] recS = new int[m];
+      for (int i = m, j = 0; i < n; i++) if (sa[i] >= 0) recS[j++] = sa[i];
+
+      // Sort the LMS suffixes by recursively building the suffix array of the names, then
+      // reuse recS to map the names back to their LMS positions
+      int[] recSa = sais(recS, recUpper);
+      for (int i = 1, j = 0; i < n; i++) if (isLms(ls, i)) recS[j++] = i;
+      for (int i = 0; i < m; i++) recSa[i] = recS[recSa[i]];
+      induce(s, sa, ls, recSa, sumL, sumS, buf);
+    }
+    return sa;
+  }
+
+  // Returns true if suffix i is a leftmost S-type suffix
+  private static boolean isLms(boolean[] ls, int i) {
+    return i > 0 && ls[i] && !ls[i - 1];
+  }
+
+  // Returns true if the LMS substrings starting at a and b (from their LMS position up to and
+  // including the next one) are equal. The substring of the last LMS position runs to the end of
+  // the text and is equal to no other.
+  private static boolean sameLmsSubstring(int[] s, boolean[] ls, int a, int b) {
+    final int n = s.length;
+    for (int d = 0; ; d++) {
+      if (a + d == n || b + d == n) return false;
+      if (s[a + d] != s[b + d] || ls[a + d] != ls[b + d]) return false;
+      // The types match, so when one of them reaches its next LMS position both do
+      if (d > 0 && isLms(ls, a + d)) return true;
+    }
+  }
+
+  // Places the given LMS suffixes in their buckets (in the given order, or in text order if 'lms'
+  // is null) and induces the order of all the L-type and then all the S-type suffixes.
+  private static void induce(
+      int[] s, int[] sa, boolean[] ls, int[] lms, int[] sumL, int[] sumS, int[] buf) {
+    final int n = s.length;
+    java.util.Arrays.fill(sa, -1);
+
+    System.arraycopy(sumS, 0, buf, 0, buf.length);
+    if (lms == null) {
+      for (int i = 1; i < n; i++) if (isLms(ls, i)) sa[buf[s[i]]++] = i;
+    } else {
+      for (int d : lms) sa[buf[s[d]]++] = d;
+    }
+
+    // Induce L-type suffixes scanning left to right, the last suffix is always L-type
+    System.arraycopy(sumL, 0, buf, 0, buf.length);
+    sa[buf[s[n - 1]]++] = n - 1;
+    for (int i = 0; i < n; i++) {
+      int v = sa[i];
+      if (v >= 1 && !ls[v - 1]) sa[buf[s[v - 1]]++] = v - 1;
+    }
+
+    // Induce S-type suffixes scanning right to left, filling buckets from their tails
+    System.arraycopy(sumL, 0, buf, 0, buf.length);
+    for (int i = n - 1; i >= 0; i--) {
+      int v = sa[i];
+      if (v >= 1 && ls[v - 1]) sa[--buf[s[v - 1] + 1]] = v - 1;
+    }
+  }
+
+  // Sorts the suffixes of a short string by comparing them directly (insertion sort)
+  private static int[] naive(int[] s) {
+    int n = s.length;
+    int[] sa = new int[n];
+    for (int i = 0; i < n; i++) sa[i] = i;
+    for (int i = 1; i < n; i++) {
+      int v = sa[i], j = i;
+      for (; j > 0 && compareSuffixes(s, sa[j - 1], v) > 0; j--) sa[j] = sa[j - 1];
+      sa[j] = v;
+    }
+    return sa;
+  }
+
+  private static int compareSuffixes(int[] s, int a, int b) {
+    while (a < s.length && b < s.length) {
+      if (s[a] != s[b]) return Integer.compare(s[a], s[b]);
+      a++;
+      b++;
+    }
+    // The shorter suffix (the one which ran out first) is smaller
+    return b - a;
+  }
+
+  public static void main(String[] args) {
+    SuffixArraySais sa = new SuffixArraySais("ABBABAABAA");
+    System.out.println(sa);
+  }
+}
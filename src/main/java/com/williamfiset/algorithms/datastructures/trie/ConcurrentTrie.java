@@ -0,0 +1,130 @@
+/**
+ * A thread-safe version of {@link Trie} where any number of threads can insert strings and query
+ * the trie at the same time without locking.
+ *
+ * <p>The children of a node form a linked list whose head is swapped in with a compare-and-set
+ * (CAS): a thread adding a child links the new node in front of the head it read and retries,
+ * only looking at the nodes added since, if another thread changed the head first. Nodes are never
+ * unlinked so readers simply follow the lists. Counts are updated with atomic adds.
+ *
+ * <p>count(key) and contains(key) have the same meaning as in {@link Trie}. Each update of a
+ * single node is atomic, but an insert updates the nodes along its path one after another, so a
+ * concurrent reader may see a string partially inserted (the counts of its first characters
+ * already updated). Deleting is not supported: removing a node while other threads may be
+ * descending into it to insert below it would lose their inserts.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.trie;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+public class ConcurrentTrie {
+
+  private static class Node {
+
+    final char ch;
+
+    // The next sibling, only written before the node is published by a CAS
+    Node next;
+
+    volatile Node children;
+    volatile int count;
+    volatile boolean isWordEnding;
+
+    Node(char ch) {
+      this.ch = ch;
+    }
+  }
+
+  // Field updaters give CAS and atomic adds without an atomic object per node
+  private static final AtomicReferenceFieldUpdater<Node, Node> CHILDREN =
+      AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "children");
+  private static final AtomicIntegerFieldUpdater<Node> COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Node.class, "count");
+
+  private final Node root = new Node('\0');
+
+  // Searches the sibling list from 'head' up to (excluding) 'stop' for the character
+  private static Node find(Node head, Node stop, char ch) {
+    for (Node node = head; node != stop; node = node.next) if (node.ch == ch) return node;
+    return null;
+  }
+
+  // Returns true if the string being inserted
+  // contains a prefix already in the trie
+  public boolean insert(String key, int numInserts) {
+
+    if (key == null) throw new IllegalArgumentException("Null not permitted in trie");
+    if (numInserts <= 0)
+      throw new IllegalArgumentException("numInserts has to be greater than zero");
+
+    Node node = root;
+    boolean createdNewNode = false;
+    boolean isPrefix = false;
+
+    for (int i = 0; i < key.length(); i++) {
+      char ch = key.charAt(i);
+      Node head = node.children;
+      Node child = find(head, null, ch);
+
+      if (child == null) {
+        Node newNode = new Node(ch);
+        while (child == null) {
+          newNode.next = head;
+          if (CHILDREN.compareAndSet(node, head, newNode)) {
+            child = newNode;
+            createdNewNode = true;
+          } else {
+            // Another thread added children first, one of them may be the one we want
+            Node newHead = node.children;
+            child = find(newHead, head, ch);
+            head = newHead;
+          }
+        }
+      } else if (child.isWordEnding) {
+        isPrefix = true;
+      }
+
+      COUNT.addAndGet(child, numInserts);
+      node = child;
+    }
+
+    // The root itself is not a word ending. It is simply a placeholder.
+    if (node != root) node.isWordEnding = true;
+
+    return isPrefix || !createdNewNode;
+  }
+
+  public boolean insert(String key) {
+    return insert(key, 1);
+  }
+
+  // Returns the node reached by following the key from the root or null
+  private Node walk(String key) {
+    if (key == null) throw new IllegalArgumentException("Null not permitted");
+    Node node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = find(node.children, null, key.charAt(i));
+    }
+    return node;
+  }
+
+  // Returns the count of a particular prefix
+  public int count(String key) {
+    Node node = walk(key);
+    return node == null ? 0 : node.count;
+  }
+
+  // Returns true if this string is contained inside the trie
+  public boolean contains(String key) {
+    return count(key) != 0;
+  }
+
+  // Returns true if this exact string was inserted
+  public boolean isWord(String key) {
+    Node node = walk(key);
+    return node != null && node != root && node.isWordEnding;
+  }
+}
@@ -0,0 +1,233 @@
+/**
+ * A read-only, compact version of a {@link Trie} stored as a double-array trie (Aoe 1989).
+ *
+ * <p>Every node of the trie is a state, an index into two int arrays. The characters of the trie
+ * are numbered 1, 2, ... in sorted order and the child of state s for the character numbered c is
+ * the state t = base[s] + c, provided check[t] == s (otherwise s has no such child). Following an
+ * edge is therefore two array reads, instead of a hash lookup of a boxed character in a per node
+ * HashMap. The bases are chosen when building so that the children of different states do not
+ * collide, which packs the states into arrays only slightly longer than the number of nodes:
+ * roughly 12 bytes per node (base, check and count) compared to a hundred or more for a Trie node
+ * with its map entry and map.
+ *
+ * <p>Like {@link Trie}, count(key) is the number of inserted strings starting with key and
+ * contains(key) is true when that count is non zero. The strings which were inserted themselves
+ * can be listed in sorted order by prefix.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.trie;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class DoubleArrayTrie {
+
+  private static final int FREE = -1, ROOT = 0;
+
+  private int[] base, check, count;
+  private final BitSet wordEnding = new BitSet();
+
+  // Characters are numbered from 1 in sorted order, charCode[c] is 0 for characters not in the trie
+  private final int[] charCode;
+  private final char[] codeChar;
+
+  private int stateCount;
+
+  // No free slot exists below this index
+  private int firstFree = 1;
+
+  // Builds the double array from the current contents of the trie
+  public DoubleArrayTrie(Trie trie) {
+    if (trie == null) throw new IllegalArgumentException("Null trie");
+
+    BitSet chars = new BitSet();
+    ArrayDeque<Trie.Node> stack = new ArrayDeque<>();
+    stack.push(trie.getRoot());
+    while (!stack.isEmpty()) {
+      for (Trie.Node child : stack.pop().children.values()) {
+        chars.set(child.ch);
+        stack.push(child);
+      }
+    }
+    charCode = new int[chars.length()];
+    codeChar = new char[chars.cardinality() + 1];
+    for (int c = chars.nextSetBit(0), code = 1; c >= 0; c = chars.nextSetBit(c + 1), code++) {
+      charCode[c] = code;
+      codeChar[code] = (char) c;
+    }
+
+    base = new int[16];
+    check = new int[16];
+    count = new int[16];
+    Arrays.fill(check, FREE);
+    check[ROOT] = ROOT;
+    int used = build(trie.getRoot());
+
+    base = Arrays.copyOf(base, used);
+    check = Arrays.copyOf(check, used);
+    count = Arrays.copyOf(count, used);
+  }
+
+  // Places the nodes in breadth first order, returns the length of the used part of the arrays
+  private int build(Trie.Node root) {
+    ArrayDeque<Trie.Node> nodes = new ArrayDeque<>();
+    ArrayDeque<Integer> states = new ArrayDeque<>();
+    nodes.add(root);
+    states.add(ROOT);
+    stateCount = 1;
+    int used = 1;
+    while (!nodes.isEmpty()) {
+      Trie.Node node = nodes.poll();
+      int s = states.poll();
+      if (node.children.isEmpty()) continue;
+
+      Trie.Node[] children = node.children.values().toArray(new Trie.Node[0]);
+      Arrays.sort(children, (a, b) -> Character.compare(a.ch, b.ch));
+      int[] codes = new int[children.length];
+      for (int i = 0; i < codes.length; i++) codes[i] = charCode[children[i].ch];
+
+      int b = findBase(codes);
+      base[s] = b;
+      for (int i = 0; i < children.length; i++) {
+        int t = b + codes[i];
+        check[t] = s;
+        count[t] = children[i].count;
+        if (children[i].isWordEnding) wordEnding.set(t);
+        nodes.add(children[i]);
+        states.add(t);
+        used = Math.max(used, t + 1);
+      }
+      stateCount += children.length;
+      while (firstFree < check.length && check[firstFree] != FREE) firstFree++;
+    }
+    return used;
+  }
+
+  // Finds the smallest base for which the slots of all the (sorted) codes are free
+  private int findBase(int[] codes) {
+    final int first = codes[0], last = codes[codes.length - 1];
+    for (int pos = Math.max(firstFree, first); ; pos++) {
+      ensureCapacity(pos - first + last + 1);
+      if (check[pos] != FREE) continue;
+      int b = pos - first;
+      boolean fits = true;
+      for (int i = 1; i < codes.length && fits; i++) fits = check[b + codes[i]] == FREE;
+      if (fits) return b;
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= check.length) return;
+    int oldLength = check.length;
+    int newLength = Math.max(capacity, 2 * oldLength);
+    base = Arrays.copyOf(base, newLength);
+    check = Arrays.copyOf(check, newLength);
+    count = Arrays.copyOf(count, newLength);
+    Arrays.fill(check, oldLength, newLength, FREE);
+  }
+
+  // Returns the child of state s for character ch or -1 if there is none
+  private int child(int s, char ch) {
+    if (ch >= charCode.length || charCode[ch] == 0) return -1;
+    int t = base[s] + charCode[ch];
+    return t < check.length && check[t] == s ? t : -1;
+  }
+
+  // Returns the state reached by following the key from the root or -1
+  private int walk(String key) {
+    if (key == null) throw new IllegalArgumentException("Null not permitted");
+    int s = ROOT;
+    for (int i = 0; i < key.length() && s != -1; i++) s = child(s, key.charAt(i));
+    return s;
+  }
+
+  // Returns the number of inserted strings starting with key
+  public int count(String key) {
+    int s = walk(key);
+    return s <= ROOT ? 0 : count[s];
+  }
+
+  // Returns true if some inserted string starts with key
+  public boolean contains(String key) {
+    return count(key) != 0;
+  }
+
+  // Returns true if key itself was inserted
+  public boolean isWord(String key) {
+    int s = walk(key);
+    return s > ROOT && wordEnding.get(s);
+  }
+
+  // Returns the inserted strings starting with prefix in sorted order
+  public Iterator<String> wordsWithPrefix(String prefix) {
+    return new WordIterator(prefix, walk(prefix));
+  }
+
+  // Returns the number of nodes of the trie (including the root)
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  // Returns the approximate number of bytes used by the trie
+  public long sizeInBytes() {
+    return 12L * check.length + wordEnding.size() / 8 + 4L * charCode.length + 2L * codeChar.length;
+  }
+
+  // Depth first traversal below the state of the prefix, visiting children in character order
+  private class WordIterator implements Iterator<String> {
+    private int[] states = new int[16], codes = new int[16];
+    private int depth;
+    private final StringBuilder path;
+    private String next;
+
+    WordIterator(String prefix, int s) {
+      path = new StringBuilder(prefix);
+      if (s == -1) return;
+      states[0] = s;
+      depth = 1;
+      next = s != ROOT && wordEnding.get(s) ? prefix : advance();
+    }
+
+    // Moves to the next state which ends a word and returns its string, or null when done
+    private String advance() {
+      while (depth > 0) {
+        int s = states[depth - 1], t = -1, c = codes[depth - 1] + 1;
+        for (; c < codeChar.length; c++) {
+          t = base[s] + c;
+          if (t < check.length && check[t] == s) break;
+        }
+        if (c == codeChar.length) {
+          if (--depth > 0) path.setLength(path.length() - 1);
+          continue;
+        }
+        codes[depth - 1] = c;
+        if (depth == states.length) {
+          states = Arrays.copyOf(states, 2 * depth);
+          codes = Arrays.copyOf(codes, 2 * depth);
+        }
+        states[depth] = t;
+        codes[depth++] = 0;
+        path.append(codeChar[c]);
+        if (wordEnding.get(t)) return path.toString();
+      }
+      return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (next == null) throw new NoSuchElementException();
+      String word = next;
+      next = advance();
+      return word;
+    }
+  }
+}
@@ -7,7 +7,7 @@ public class Trie {
   private final char rootCharacter = '\0';
   private Node root = new Node(rootCharacter);
 
-  private static class Node {
+  static class Node {
 
     char ch;
     int count = 0;
@@ -23,6 +23,11 @@ public class Trie {
     }
   }
 
+  // Returns the root node, used to build the compact representations of the trie
+  Node getRoot() {
+    return root;
+  }
+
   // Returns true if the string being inserted
   // contains a prefix already in the trie
   public boolean insert(String key, int numInserts) {
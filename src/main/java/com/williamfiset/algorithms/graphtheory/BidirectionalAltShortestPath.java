@@ -0,0 +1,325 @@
+/**
+ * Point to point shortest paths on a graph in CSR form with non negative edge weights, using a
+ * bidirectional Dijkstra search which can be guided by landmarks (ALT: A*, Landmarks and the
+ * Triangle inequality, Goldberg and Harrelson 2005).
+ *
+ * <p>The bidirectional search grows a forward search from the source and a backward search (on
+ * the reversed edges) from the target, always advancing the one whose next node is closer, and
+ * stops once the two smallest keys add up to at least the shortest path found where the searches
+ * met. Each search only reaches about half as far as a single Dijkstra search would.
+ *
+ * <p>ALT needs no coordinates, unlike {@link AStar_GridHeuristic}. A few landmark nodes are chosen
+ * once and the distances from and to each of them are computed for every node. By the triangle
+ * inequality, d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L) for every landmark L,
+ * which gives a lower bound on the remaining distance for any pair of nodes. Both searches use the
+ * average of the forward and backward bounds as their potential (as A* uses its heuristic) so
+ * they explore the nodes lying towards each other first and meet after scanning far fewer nodes.
+ * A bound is infinite when a landmark proves that a node cannot be on a path from the source to
+ * the target, and such nodes are skipped. Landmarks are picked far from each other (farthest
+ * selection) so that they lie behind the nodes from most points of view.
+ *
+ * <p>Queries reuse the arrays of the previous query (see {@link DijkstraQueryEngine}), so an
+ * instance must not be used by several threads at the same time.
+ *
+ * <p>Time Complexity: O(k * E log(V)) preprocessing for k landmarks and O(E log(V)) per query in
+ * the worst case, usually much less
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class BidirectionalAltShortestPath {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  private final int n;
+  private final CsrGraph graph, reverse;
+
+  // fromLandmark[v * k + i] = d(landmarks[i], v) and toLandmark[v * k + i] = d(v, landmarks[i]),
+  // so the bounds of a node are read from two short runs of memory
+  private final int k;
+  private final int[] landmarks;
+  private final double[] fromLandmark, toLandmark;
+
+  private final Direction forward, backward;
+  private int epoch;
+
+  // The potential of each node during the current query, INF for nodes which cannot be on a path
+  private final double[] potential;
+  private final int[] potentialStamp;
+  private int source, target;
+
+  private int scannedNodes;
+
+  // Creates a plain bidirectional Dijkstra search, without landmarks
+  public BidirectionalAltShortestPath(CsrGraph graph) {
+    this(graph, new int[0]);
+  }
+
+  // Selects 'landmarkCount' landmarks using farthest selection and computes their distances
+  public BidirectionalAltShortestPath(CsrGraph graph, int landmarkCount) {
+    this(graph, landmarkCount, null);
+  }
+
+  // Uses the given landmark nodes
+  public BidirectionalAltShortestPath(CsrGraph graph, int[] landmarks) {
+    this(graph, landmarks == null ? -1 : landmarks.length, landmarks);
+  }
+
+  private BidirectionalAltShortestPath(CsrGraph graph, int landmarkCount, int[] landmarks) {
+    if (graph == null) throw new IllegalArgumentException("Graph can not be null");
+    n = graph.numNodes();
+    if (landmarkCount < 0 || landmarkCount > n || (long) n * landmarkCount > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Invalid number of landmarks: " + landmarkCount);
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (!(graph.weight(e) >= 0))
+        throw new IllegalArgumentException("Edge weights must be non negative: " + graph.weight(e));
+    }
+    this.graph = graph;
+    reverse = graph.transpose();
+    k = landmarkCount;
+    fromLandmark = new double[n * k];
+    toLandmark = new double[n * k];
+    if (landmarks == null) {
+      this.landmarks = selectLandmarks();
+    } else {
+      this.landmarks = landmarks.clone();
+      for (int i = 0; i < k; i++) {
+        checkNode(landmarks[i]);
+        computeLandmark(i, landmarks[i]);
+      }
+    }
+
+    forward = new Direction(graph);
+    backward = new Direction(reverse);
+    potential = new double[n];
+    potentialStamp = new int[n];
+  }
+
+  // Stores the distances from and to landmark number i
+  private void computeLandmark(int i, int landmark) {
+    double[] from = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, landmark, null);
+    double[] to = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(reverse, landmark, null);
+    for (int v = 0; v < n; v++) {
+      fromLandmark[v * k + i] = from[v];
+      toLandmark[v * k + i] = to[v];
+    }
+  }
+
+  // Farthest selection: every landmark is the node farthest from all the previous ones (nodes no
+  // landmark reaches in either direction first). The first landmark is the node farthest from
+  // node 0.
+  private int[] selectLandmarks() {
+    int[] chosen = new int[k];
+    if (k == 0) return chosen;
+    double[] closest = new double[n];
+    double[] d0 = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, 0, null);
+    for (int v = 0; v < n; v++) closest[v] = d0[v] == INF ? -1 : d0[v];
+    for (int i = 0; i < k; i++) {
+      int best = 0;
+      for (int v = 1; v < n; v++) if (closest[v] > closest[best]) best = v;
+      chosen[i] = best;
+      computeLandmark(i, best);
+      if (i == 0) Arrays.fill(closest, INF);
+      for (int v = 0; v < n; v++) {
+        double d = Math.min(fromLandmark[v * k + i], toLandmark[v * k + i]);
+        closest[v] = Math.min(closest[v], d);
+      }
+    }
+    return chosen;
+  }
+
+  public int[] getLandmarks() {
+    return landmarks.clone();
+  }
+
+  // Returns the number of nodes scanned (by both searches) during the last query
+  public int getScannedNodeCount() {
+    return scannedNodes;
+  }
+
+  // Returns the distance from 'source' to 'target', Double.POSITIVE_INFINITY if unreachable
+  public double distance(int source, int target) {
+    checkNode(source);
+    checkNode(target);
+    int meet = search(source, target);
+    return meet == -1 ? INF : forward.dist[meet] + backward.dist[meet];
+  }
+
+  /**
+   * Finds a shortest path from 'source' to 'target'.
+   *
+   * @return The nodes of the path from 'source' to 'target' inclusive, or an empty list if
+   *     'target' cannot be reached.
+   */
+  public List<Integer> shortestPath(int source, int target) {
+    checkNode(source);
+    checkNode(target);
+    int meet = search(source, target);
+    List<Integer> path = new ArrayList<>();
+    if (meet == -1) return path;
+    for (int at = meet; at != -1; at = forward.parent[at]) path.add(at);
+    Collections.reverse(path);
+    for (int at = backward.parent[meet]; at != -1; at = backward.parent[at]) path.add(at);
+    return path;
+  }
+
+  private void checkNode(int v) {
+    if (v < 0 || v >= n) throw new IllegalArgumentException("Invalid node index; received: " + v);
+  }
+
+  // Returns larger - smaller, where both are landmark distances which give a lower bound this
+  // way. An infinite 'smaller' gives no bound, an infinite 'larger' alone an infinite one.
+  private static double difference(double larger, double smaller) {
+    return smaller == INF ? 0 : larger - smaller;
+  }
+
+  // Returns the forward potential of v, the average of a lower bound of d(v, target) and minus a
+  // lower bound of d(source, v). The backward search uses its opposite.
+  private double potential(int v) {
+    if (potentialStamp[v] == epoch) return potential[v];
+    double toTarget = 0, fromSource = 0;
+    for (int i = 0, a = v * k, s = source * k, t = target * k; i < k; i++) {
+      toTarget = Math.max(toTarget, difference(fromLandmark[t + i], fromLandmark[a + i]));
+      toTarget = Math.max(toTarget, difference(toLandmark[a + i], toLandmark[t + i]));
+      fromSource = Math.max(fromSource, difference(fromLandmark[a + i], fromLandmark[s + i]));
+      fromSource = Math.max(fromSource, difference(toLandmark[s + i], toLandmark[a + i]));
+    }
+    double p = toTarget == INF || fromSource == INF ? INF : (toTarget - fromSource) / 2;
+    potentialStamp[v] = epoch;
+    return potential[v] = p;
+  }
+
+  // Runs the bidirectional search, returns the node where the shortest path found meets or -1
+  private int search(int source, int target) {
+    if (++epoch == 0) {
+      Arrays.fill(potentialStamp, 0);
+      forward.clearStamps();
+      backward.clearStamps();
+      epoch = 1;
+    }
+    this.source = source;
+    this.target = target;
+    scannedNodes = 0;
+    forward.size = backward.size = 0;
+    if (potential(source) == INF || potential(target) == INF) return -1;
+
+    forward.reach(source, 0, -1, potential(source));
+    backward.reach(target, 0, -1, -potential(target));
+    if (source == target) return source;
+
+    // The length of the shortest path found so far, through 'meet'
+    double best = INF;
+    int meet = -1;
+    while (forward.size > 0 && backward.size > 0) {
+      if (forward.keys[0] + backward.keys[0] >= best) break;
+      boolean isForward = forward.keys[0] <= backward.keys[0];
+      Direction search = isForward ? forward : backward, other = isForward ? backward : forward;
+      CsrGraph g = search.graph;
+
+      int u = search.poll();
+      scannedNodes++;
+      final double du = search.dist[u];
+      for (int e = g.start(u), end = g.end(u); e < end; e++) {
+        int v = g.target(e);
+        double p = potential(v);
+        if (p == INF) continue;
+        double newDist = du + g.weight(e);
+        if (newDist < search.distance(v)) search.reach(v, newDist, u, isForward ? p : -p);
+        double total = newDist + other.distance(v);
+        if (total < best) {
+          best = total;
+          meet = v;
+        }
+      }
+    }
+    return meet;
+  }
+
+  // One direction of the search: its labels and a 4-ary min heap of the nodes to scan, keyed by
+  // their distance plus their potential. A node whose distance improves after it was scanned
+  // (which rounding errors in the potentials can cause) is simply scanned again.
+  private class Direction {
+    final CsrGraph graph;
+    final double[] dist;
+    final int[] parent, stamp;
+
+    final int[] heap, pos;
+    final double[] keys;
+    int size;
+
+    Direction(CsrGraph graph) {
+      this.graph = graph;
+      dist = new double[n];
+      parent = new int[n];
+      stamp = new int[n];
+      heap = new int[n];
+      pos = new int[n];
+      keys = new double[n];
+    }
+
+    void clearStamps() {
+      Arrays.fill(stamp, 0);
+    }
+
+    double distance(int v) {
+      return stamp[v] == epoch ? dist[v] : INF;
+    }
+
+    // Sets the distance of v and adds it to the heap or moves it up
+    void reach(int v, double d, int from, double p) {
+      if (stamp[v] != epoch) {
+        stamp[v] = epoch;
+        pos[v] = -1;
+      }
+      dist[v] = d;
+      parent[v] = from;
+      siftUp(pos[v] == -1 ? size++ : pos[v], v, d + p);
+    }
+
+    int poll() {
+      int top = heap[0];
+      pos[top] = -1;
+      if (--size > 0) siftDown(heap[size], keys[size]);
+      return top;
+    }
+
+    void siftUp(int i, int v, double key) {
+      while (i > 0) {
+        int up = (i - 1) >>> 2;
+        if (keys[up] <= key) break;
+        place(i, heap[up], keys[up]);
+        i = up;
+      }
+      place(i, v, key);
+    }
+
+    void siftDown(int v, double key) {
+      int i = 0;
+      while (true) {
+        int first = 4 * i + 1;
+        if (first >= size) break;
+        int min = first;
+        for (int c = first + 1, last = Math.min(first + 4, size); c < last; c++) {
+          if (keys[c] < keys[min]) min = c;
+        }
+        if (keys[min] >= key) break;
+        place(i, heap[min], keys[min]);
+        i = min;
+      }
+      place(i, v, key);
+    }
+
+    void place(int i, int v, double key) {
+      heap[i] = v;
+      keys[i] = key;
+      pos[v] = i;
+    }
+  }
+}
@@ -7,8 +7,10 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
@@ -79,6 +81,57 @@ public class BreadthFirstSearchAdjacencyListIterative {
     }
   }
 
+  /**
+   * Performs a breadth first search on a graph in CSR form starting at node 'start'.
+   *
+   * @param prev - If not null, an array of at least n entries whose first n are filled with the
+   *     node from which each node was reached (-1 for the start node and unreachable nodes).
+   * @return The number of edges on a shortest path from 'start' to each node (-1 if unreachable).
+   */
+  public static int[] bfs(CsrGraph graph, int start, int[] prev) {
+    if (graph == null) throw new IllegalArgumentException("Graph can not be null");
+    final int n = graph.numNodes();
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid start node: " + start);
+    if (prev != null && prev.length < n) throw new IllegalArgumentException("prev is too short");
+    int[] dist = new int[n];
+    Arrays.fill(dist, -1);
+    if (prev != null) Arrays.fill(prev, 0, n, -1);
+
+    // The queue holds each node at most once so a plain array is enough
+    int[] queue = new int[n];
+    int head = 0, tail = 0;
+    queue[tail++] = start;
+    dist[start] = 0;
+
+    while (head < tail) {
+      int node = queue[head++];
+      for (int e = graph.start(node), end = graph.end(node); e < end; e++) {
+        int to = graph.target(e);
+        if (dist[to] == -1) {
+          dist[to] = dist[node] + 1;
+          if (prev != null) prev[to] = node;
+          queue[tail++] = to;
+        }
+      }
+    }
+    return dist;
+  }
+
+  // Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive in a graph in CSR
+  // form. If 'start' and 'end' are not connected then an empty list is returned.
+  public static List<Integer> reconstructPath(CsrGraph graph, int start, int end) {
+    if (graph == null) throw new IllegalArgumentException("Graph can not be null");
+    if (end < 0 || end >= graph.numNodes())
+      throw new IllegalArgumentException("Invalid end node: " + end);
+    int[] prev = new int[graph.numNodes()];
+    int[] dist = bfs(graph, start, prev);
+    List<Integer> path = new ArrayList<>();
+    if (dist[end] == -1) return path;
+    for (int at = end; at != -1; at = prev[at]) path.add(at);
+    Collections.reverse(path);
+    return path;
+  }
+
   // Initialize an empty adjacency list that can hold up to n nodes.
   public static List<List<Edge>> createEmptyGraph(int n) {
     List<List<Edge>> graph = new ArrayList<>(n);
@@ -5,6 +5,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class DepthFirstSearchAdjacencyListIterative {
@@ -50,6 +51,32 @@ public class DepthFirstSearchAdjacencyListIterative {
     return count;
   }
 
+  // Same as above on a graph in CSR form, using an int array as the stack
+  static int dfs(CsrGraph graph, int start) {
+
+    int count = 0;
+    boolean[] visited = new boolean[graph.numNodes()];
+    int[] stack = new int[graph.numNodes()];
+    int size = 0;
+
+    stack[size++] = start;
+    visited[start] = true;
+
+    while (size > 0) {
+      int node = stack[--size];
+      count++;
+      for (int e = graph.start(node), end = graph.end(node); e < end; e++) {
+        int to = graph.target(e);
+        if (!visited[to]) {
+          stack[size++] = to;
+          visited[to] = true;
+        }
+      }
+    }
+
+    return count;
+  }
+
   // Example usage of DFS
   public static void main(String[] args) {
 
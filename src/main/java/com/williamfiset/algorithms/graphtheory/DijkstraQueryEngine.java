@@ -0,0 +1,354 @@
+/**
+ * Answers many shortest path queries on the same graph (in CSR form, with non negative edge
+ * weights) using Dijkstra's algorithm, without allocating anything per query besides its result.
+ *
+ * <p>{@link DijkstrasShortestPathAdjacencyListWithDHeap#dijkstra(CsrGraph, int, int)} allocates
+ * and fills arrays of n entries and a new indexed heap on every call, which costs O(n) even when
+ * the target is a few edges away from the source. Here a query borrows a workspace holding those
+ * arrays and a heap from the engine and gives it back when done, so the engine only creates as
+ * many workspaces as queries ran at the same time. Instead of resetting the arrays between
+ * queries, each query increments an epoch number and a node's entries only count if the node was
+ * stamped with the current epoch, so a query only costs the nodes it touches.
+ *
+ * <p>Queries stop as soon as their targets are settled. Batches of queries are split between the
+ * threads of a ForkJoinPool, each part of a batch using one workspace, and any number of threads
+ * may call the engine at the same time. The workspaces are plain objects referenced by the engine
+ * only, so they are garbage collected along with it, or right away by {@link #close}.
+ *
+ * <p>Time Complexity: O(E' log(V')) per query, where V' and E' are the nodes and edges it visits
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class DijkstraQueryEngine implements AutoCloseable {
+
+  // Batches are split in up to this many parts per thread of the pool, so threads which get the
+  // short queries steal the remaining parts of the others
+  private static final int PARTS_PER_THREAD = 8;
+
+  private final CsrGraph graph;
+  private final ForkJoinPool pool;
+
+  // The workspaces which are not in use by a query, guarded by its own lock. An ArrayDeque does
+  // not allocate a node per push like the concurrent queues do.
+  private final ArrayDeque<Workspace> idle = new ArrayDeque<>();
+  private boolean closed;
+
+  public DijkstraQueryEngine(CsrGraph graph) {
+    this(graph, ForkJoinPool.commonPool());
+  }
+
+  public DijkstraQueryEngine(CsrGraph graph, ForkJoinPool pool) {
+    if (graph == null) throw new IllegalArgumentException("Graph can not be null");
+    if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (!(graph.weight(e) >= 0))
+        throw new IllegalArgumentException("Edge weights must be non negative: " + graph.weight(e));
+    }
+    this.graph = graph;
+    this.pool = pool;
+  }
+
+  // Releases the workspaces, the engine cannot answer queries afterwards
+  @Override
+  public void close() {
+    synchronized (idle) {
+      closed = true;
+      idle.clear();
+    }
+  }
+
+  // Takes an idle workspace, or creates one if all of them are in use
+  private Workspace borrow() {
+    Workspace ws;
+    synchronized (idle) {
+      if (closed) throw new IllegalStateException("The query engine is closed");
+      ws = idle.poll();
+    }
+    return ws == null ? new Workspace(graph) : ws;
+  }
+
+  private void giveBack(Workspace ws) {
+    synchronized (idle) {
+      if (!closed) idle.push(ws);
+    }
+  }
+
+  // Returns the distance from 'source' to 'target', Double.POSITIVE_INFINITY if unreachable
+  public double distance(int source, int target) {
+    checkNode(source);
+    checkNode(target);
+    Workspace ws = borrow();
+    try {
+      ws.search(source, target);
+      return ws.distance(target);
+    } finally {
+      giveBack(ws);
+    }
+  }
+
+  /**
+   * Finds a shortest path from 'source' to 'target'.
+   *
+   * @return The nodes of the path from 'source' to 'target' inclusive, or an empty list if
+   *     'target' cannot be reached.
+   */
+  public List<Integer> shortestPath(int source, int target) {
+    checkNode(source);
+    checkNode(target);
+    Workspace ws = borrow();
+    try {
+      ws.search(source, target);
+      List<Integer> path = new ArrayList<>();
+      if (ws.distance(target) == Double.POSITIVE_INFINITY) return path;
+      for (int at = target; at != -1; at = ws.prev[at]) path.add(at);
+      Collections.reverse(path);
+      return path;
+    } finally {
+      giveBack(ws);
+    }
+  }
+
+  // Returns the distances from 'source' to each of the targets, stopping once all of them are
+  // settled. With no targets (null) the distances to all the nodes are returned.
+  public double[] distances(int source, int[] targets) {
+    checkNode(source);
+    if (targets != null) for (int t : targets) checkNode(t);
+    Workspace ws = borrow();
+    try {
+      ws.search(source, targets);
+      if (targets == null) {
+        double[] dist = new double[graph.numNodes()];
+        for (int v = 0; v < dist.length; v++) dist[v] = ws.distance(v);
+        return dist;
+      }
+      double[] dist = new double[targets.length];
+      for (int i = 0; i < targets.length; i++) dist[i] = ws.distance(targets[i]);
+      return dist;
+    } finally {
+      giveBack(ws);
+    }
+  }
+
+  // Answers the point to point queries (sources[i], targets[i]) in parallel
+  public double[] distances(int[] sources, int[] targets) {
+    if (sources == null || targets == null || sources.length != targets.length)
+      throw new IllegalArgumentException("There must be one target per source");
+    for (int i = 0; i < sources.length; i++) {
+      checkNode(sources[i]);
+      checkNode(targets[i]);
+    }
+    final double[] dist = new double[sources.length];
+    runInParts(
+        sources.length,
+        (ws, lo, hi) -> {
+          for (int i = lo; i < hi; i++) {
+            ws.search(sources[i], targets[i]);
+            dist[i] = ws.distance(targets[i]);
+          }
+        });
+    return dist;
+  }
+
+  // Returns the distance from every source to every target, one search per source run in parallel
+  public double[][] distanceMatrix(int[] sources, int[] targets) {
+    if (sources == null || targets == null) throw new IllegalArgumentException("Null nodes");
+    for (int s : sources) checkNode(s);
+    for (int t : targets) checkNode(t);
+    final double[][] matrix = new double[sources.length][targets.length];
+    runInParts(
+        sources.length,
+        (ws, lo, hi) -> {
+          for (int i = lo; i < hi; i++) {
+            ws.search(sources[i], targets);
+            for (int j = 0; j < targets.length; j++) matrix[i][j] = ws.distance(targets[j]);
+          }
+        });
+    return matrix;
+  }
+
+  private void checkNode(int v) {
+    if (v < 0 || v >= graph.numNodes())
+      throw new IllegalArgumentException("Invalid node index; received: " + v);
+  }
+
+  @FunctionalInterface
+  private interface RangeTask {
+    void run(Workspace ws, int lo, int hi);
+  }
+
+  // Splits [0, n) into contiguous ranges and runs the task on each of them in the pool, with a
+  // workspace borrowed for the range
+  private void runInParts(int n, RangeTask task) {
+    int parts = Math.min(n, PARTS_PER_THREAD * pool.getParallelism());
+    if (parts <= 1) {
+      runWithWorkspace(task, 0, n);
+      return;
+    }
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(parts);
+    for (int p = 0; p < parts; p++) {
+      final int lo = (int) ((long) n * p / parts), hi = (int) ((long) n * (p + 1) / parts);
+      tasks.add(pool.submit(() -> runWithWorkspace(task, lo, hi)));
+    }
+    for (ForkJoinTask<?> t : tasks) t.join();
+  }
+
+  private void runWithWorkspace(RangeTask task, int lo, int hi) {
+    Workspace ws = borrow();
+    try {
+      task.run(ws, lo, hi);
+    } finally {
+      giveBack(ws);
+    }
+  }
+
+  // The arrays of the searches of one query at a time. The entries of a node are only valid if its
+  // stamp is the epoch of the current search. It is static so that it does not keep the engine
+  // alive.
+  private static final class Workspace {
+    final CsrGraph graph;
+    final double[] dist;
+    final int[] prev, stamp, targetStamp;
+    int epoch;
+
+    // A 4-ary min heap of the reached but not settled nodes, keyed by their distance. The keys
+    // are stored next to the nodes, in heap order, so sifting does not look up dist. pos[v] is the
+    // index of node v in the heap, -1 once it is settled.
+    final int[] heap, pos;
+    final double[] keys;
+    int size;
+
+    Workspace(CsrGraph graph) {
+      this.graph = graph;
+      final int n = graph.numNodes();
+      dist = new double[n];
+      prev = new int[n];
+      stamp = new int[n];
+      targetStamp = new int[n];
+      heap = new int[n];
+      pos = new int[n];
+      keys = new double[n];
+    }
+
+    double distance(int v) {
+      return stamp[v] == epoch ? dist[v] : Double.POSITIVE_INFINITY;
+    }
+
+    // Starts a new search, forgetting the entries of the previous one
+    void newEpoch() {
+      if (++epoch == 0) {
+        // The stamps wrapped around, old stamps could look current
+        Arrays.fill(stamp, 0);
+        Arrays.fill(targetStamp, 0);
+        epoch = 1;
+      }
+      size = 0;
+    }
+
+    // Runs Dijkstra's algorithm from 'source' until 'target' is settled
+    void search(int source, int target) {
+      newEpoch();
+      targetStamp[target] = epoch;
+      run(source, 1);
+    }
+
+    // Runs Dijkstra's algorithm from 'source' until all the targets are settled, or until all the
+    // reachable nodes are if 'targets' is null
+    void search(int source, int[] targets) {
+      newEpoch();
+      int remaining = 0;
+      if (targets != null) {
+        for (int t : targets) {
+          if (targetStamp[t] != epoch) {
+            targetStamp[t] = epoch;
+            remaining++;
+          }
+        }
+        if (remaining == 0) return;
+      }
+      run(source, remaining);
+    }
+
+    // Runs the search until 'remaining' of the stamped targets are settled. With no stamped target
+    // all the reachable nodes are settled.
+    void run(int source, int remaining) {
+      stamp[source] = epoch;
+      dist[source] = 0;
+      prev[source] = -1;
+      siftUp(size++, source, 0);
+
+      while (size > 0) {
+        int u = poll();
+        if (targetStamp[u] == epoch && --remaining == 0) return;
+        final double du = dist[u];
+        for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+          int v = graph.target(e);
+          double newDist = du + graph.weight(e);
+          if (stamp[v] != epoch) {
+            stamp[v] = epoch;
+            dist[v] = newDist;
+            prev[v] = u;
+            siftUp(size++, v, newDist);
+          } else if (newDist < dist[v]) {
+            // v cannot be settled: its distance would be at most du since weights are non negative
+            dist[v] = newDist;
+            prev[v] = u;
+            siftUp(pos[v], v, newDist);
+          }
+        }
+      }
+    }
+
+    // Removes and returns the node with the smallest distance
+    int poll() {
+      int top = heap[0];
+      pos[top] = -1;
+      if (--size > 0) siftDown(heap[size], keys[size]);
+      return top;
+    }
+
+    // Moves node v with key k up from index i to its place
+    void siftUp(int i, int v, double k) {
+      while (i > 0) {
+        int parent = (i - 1) >>> 2;
+        if (keys[parent] <= k) break;
+        place(i, heap[parent], keys[parent]);
+        i = parent;
+      }
+      place(i, v, k);
+    }
+
+    // Moves node v with key k down from the root to its place
+    void siftDown(int v, double k) {
+      int i = 0;
+      while (true) {
+        int first = 4 * i + 1;
+        if (first >= size) break;
+        int min = first;
+        for (int c = first + 1, last = Math.min(first + 4, size); c < last; c++) {
+          if (keys[c] < keys[min]) min = c;
+        }
+        if (keys[min] >= k) break;
+        place(i, heap[min], keys[min]);
+        i = min;
+      }
+      place(i, v, k);
+    }
+
+    void place(int i, int v, double k) {
+      heap[i] = v;
+      keys[i] = k;
+      pos[v] = i;
+    }
+  }
+}
@@ -10,6 +10,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -148,6 +149,59 @@ public class DijkstrasShortestPathAdjacencyListWithDHeap {
     return path;
   }
 
+  /**
+   * Runs Dijkstra's algorithm on a graph in CSR form with non negative edge weights from 'start'
+   * to every other node.
+   *
+   * @param prev - If not null, filled with the previous node on a shortest path to each node (-1
+   *     for the start node and unreachable nodes).
+   * @return The distance from 'start' to each node, Double.POSITIVE_INFINITY if unreachable.
+   */
+  public static double[] dijkstra(CsrGraph graph, int start, int[] prev) {
+    double[] dist = new double[graph.numNodes()];
+    dijkstra(graph, start, -1, dist, prev);
+    return dist;
+  }
+
+  // Returns the distance from 'start' to 'end' in a graph in CSR form, stopping as soon as 'end'
+  // is reached. Returns Double.POSITIVE_INFINITY if 'end' is unreachable.
+  public static double dijkstra(CsrGraph graph, int start, int end) {
+    return dijkstra(graph, start, end, new double[graph.numNodes()], null);
+  }
+
+  private static double dijkstra(CsrGraph graph, int start, int end, double[] dist, int[] prev) {
+    final int n = graph.numNodes();
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    int degree = graph.numEdges() / n;
+    MinIndexedDHeap<Double> ipq = new MinIndexedDHeap<>(degree, n);
+    ipq.insert(start, 0.0);
+
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[start] = 0.0;
+    if (prev != null) Arrays.fill(prev, -1);
+    boolean[] visited = new boolean[n];
+
+    while (!ipq.isEmpty()) {
+      int nodeId = ipq.pollMinKeyIndex();
+      visited[nodeId] = true;
+      if (nodeId == end) return dist[end];
+
+      for (int e = graph.start(nodeId), last = graph.end(nodeId); e < last; e++) {
+        int to = graph.target(e);
+        if (visited[to]) continue;
+        double newDist = dist[nodeId] + graph.weight(e);
+        if (newDist < dist[to]) {
+          if (prev != null) prev[to] = nodeId;
+          dist[to] = newDist;
+          if (!ipq.contains(to)) ipq.insert(to, newDist);
+          else ipq.decrease(to, newDist);
+        }
+      }
+    }
+    // End node is unreachable (or no end node was given).
+    return Double.POSITIVE_INFINITY;
+  }
+
   private static class MinIndexedDHeap<T extends Comparable<T>> {
 
     // Current number of elements in the heap.
@@ -0,0 +1,287 @@
+/**
+ * A parallel breadth first search on a graph in CSR form which switches between top-down and
+ * bottom-up steps (Beamer, Asanović and Patterson, "Direction-Optimizing Breadth-First Search").
+ *
+ * <p>The search is level synchronous: all the nodes at distance d (the frontier) are expanded in
+ * parallel before any node at distance d + 1. A top-down step looks at the edges leaving the
+ * frontier and claims the unvisited nodes they reach, which is cheap while the frontier is small.
+ * Once the frontier is large most of those edges lead to nodes which are already visited, so a
+ * bottom-up step instead has every unvisited node look at its incoming edges until it finds one
+ * from the frontier, and stops at the first one. On low diameter graphs (social networks, web
+ * graphs) this skips most of the edges of the few large levels.
+ *
+ * <p>The visited nodes and, during bottom-up steps, the frontier are kept as bitmaps. Top-down
+ * steps claim nodes with a compare-and-set on the visited bitmap. Bottom-up steps split the nodes
+ * in ranges of whole 64 bit words so each task updates its own words without synchronization.
+ *
+ * <p>The distances are the same as those of {@link BreadthFirstSearchAdjacencyListIterative#bfs(
+ * CsrGraph, int, int[])}. The prev array holds a shortest path tree too, but when a node can be
+ * reached from several nodes of the previous level which one becomes its parent depends on the
+ * thread timing.
+ *
+ * <p>Time Complexity: O(V + E) work
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class DirectionOptimizingBreadthFirstSearch {
+
+  // Switch to bottom-up when the edges leaving the frontier exceed 1/ALPHA of the edges leaving
+  // unvisited nodes, and back to top-down when a shrinking frontier holds less than 1/BETA of the
+  // nodes. These are the values suggested by Beamer et al.
+  private static final int ALPHA = 14, BETA = 24;
+
+  // Steps over fewer frontier nodes (or bitmap words) than this per part run on fewer parts, so
+  // the many small levels of high diameter graphs run on the calling thread
+  private static final int MIN_PART_SIZE = 1024;
+
+  private final CsrGraph graph, reverse;
+  private final ForkJoinPool pool;
+  private final int parts;
+
+  // Searches the graph using the common pool
+  public DirectionOptimizingBreadthFirstSearch(CsrGraph graph) {
+    this(graph, graph == null ? null : graph.transpose(), ForkJoinPool.commonPool(), 0);
+  }
+
+  /**
+   * @param graph - The graph to search.
+   * @param reverse - The graph with its edges reversed (graph.transpose()), used by bottom-up
+   *     steps. For an undirected graph, whose edges go both ways, the graph itself can be passed.
+   * @param pool - The pool running the parallel steps.
+   * @param parts - How many parts to split each step in, 0 for 4 per thread of the pool.
+   */
+  public DirectionOptimizingBreadthFirstSearch(
+      CsrGraph graph, CsrGraph reverse, ForkJoinPool pool, int parts) {
+    if (graph == null || reverse == null)
+      throw new IllegalArgumentException("Graph can not be null");
+    if (reverse.numNodes() != graph.numNodes() || reverse.numEdges() != graph.numEdges())
+      throw new IllegalArgumentException("The reverse graph does not match the graph");
+    if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+    if (parts < 0) throw new IllegalArgumentException("Illegal number of parts: " + parts);
+    this.graph = graph;
+    this.reverse = reverse;
+    this.pool = pool;
+    this.parts = parts == 0 ? 4 * pool.getParallelism() : parts;
+  }
+
+  /**
+   * Performs a breadth first search from 'start'. Several searches can run at the same time.
+   *
+   * @param prev - If not null, filled with the node preceding each node on a shortest path from
+   *     'start', or -1 for 'start' and the nodes which cannot be reached.
+   * @return The number of edges on a shortest path from 'start' to each node, -1 if there is none.
+   */
+  public int[] bfs(int start, int[] prev) {
+    final int n = graph.numNodes();
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid start node: " + start);
+    if (prev != null && prev.length < n) throw new IllegalArgumentException("prev is too short");
+    return new Search(start, prev).run();
+  }
+
+  @FunctionalInterface
+  private interface PartTask {
+    void run(int part, int lo, int hi);
+  }
+
+  // Splits [0, size) into contiguous ranges and runs the task on each of them in the pool,
+  // returns the number of parts used
+  private int runInParts(int size, PartTask task) {
+    int p = Math.max(1, Math.min(parts, size / MIN_PART_SIZE));
+    if (p == 1) {
+      task.run(0, 0, size);
+      return 1;
+    }
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(p);
+    for (int i = 0; i < p; i++) {
+      final int part = i;
+      final int lo = (int) ((long) size * i / p), hi = (int) ((long) size * (i + 1) / p);
+      tasks.add(pool.submit(() -> task.run(part, lo, hi)));
+    }
+    for (ForkJoinTask<?> t : tasks) t.join();
+    return p;
+  }
+
+  // The state of a single search
+  private class Search {
+    final int n, words;
+    final int[] dist, prev;
+    final AtomicLongArray visited;
+
+    // The nodes of the current level, and the same nodes as a bitmap during bottom-up steps
+    final int[] frontier;
+    int frontierSize;
+    long frontierEdges;
+    long[] frontierBits, nextBits;
+
+    // The nodes found by each part during a step and the sum of their out degrees
+    final int[][] found;
+    final int[] foundSize;
+    final long[] foundEdges;
+
+    int level;
+
+    Search(int start, int[] prev) {
+      n = graph.numNodes();
+      words = (n + 63) >>> 6;
+      dist = new int[n];
+      Arrays.fill(dist, -1);
+      this.prev = prev;
+      if (prev != null) Arrays.fill(prev, 0, n, -1);
+      visited = new AtomicLongArray(words);
+      frontier = new int[n];
+      found = new int[parts][];
+      foundSize = new int[parts];
+      foundEdges = new long[parts];
+
+      dist[start] = 0;
+      visited.set(start >>> 6, 1L << start);
+      frontier[0] = start;
+      frontierSize = 1;
+      frontierEdges = graph.outDegree(start);
+    }
+
+    int[] run() {
+      long unexploredEdges = graph.numEdges();
+      int previousSize = 0;
+      boolean bottomUp = false;
+      while (frontierSize > 0) {
+        if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+          bottomUp = true;
+          buildFrontierBits();
+        } else if (bottomUp && frontierSize < n / BETA && frontierSize < previousSize) {
+          bottomUp = false;
+        }
+        unexploredEdges -= frontierEdges;
+        previousSize = frontierSize;
+        if (bottomUp) {
+          gather(runInParts(words, this::bottomUp));
+          long[] tmp = frontierBits;
+          frontierBits = nextBits;
+          nextBits = tmp;
+        } else {
+          gather(runInParts(frontierSize, this::topDown));
+        }
+        level++;
+      }
+      return dist;
+    }
+
+    // Marks v as visited, returns false if it was already visited (possibly by another thread)
+    boolean claim(int v) {
+      final int i = v >>> 6;
+      final long bit = 1L << v;
+      long word = visited.get(i);
+      while ((word & bit) == 0) {
+        if (visited.compareAndSet(i, word, word | bit)) return true;
+        word = visited.get(i);
+      }
+      return false;
+    }
+
+    // Returns the buffer a part collects its nodes in, at least 'min' long. The parts keep their
+    // buffer, node count and edge count in locals while they run and store them once at the end,
+    // because neighbouring entries of the shared arrays sit on the same cache line.
+    int[] buffer(int part, int min) {
+      int[] out = found[part];
+      if (out == null) return new int[Math.max(64, min)];
+      return out.length >= min ? out : Arrays.copyOf(out, Math.max(2 * out.length, min));
+    }
+
+    // Expands the frontier nodes in [lo, hi) along their outgoing edges
+    void topDown(int part, int lo, int hi) {
+      int[] out = buffer(part, 0);
+      int size = 0;
+      long edges = 0;
+      for (int i = lo; i < hi; i++) {
+        int u = frontier[i];
+        for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+          int v = graph.target(e);
+          if (claim(v)) {
+            dist[v] = level + 1;
+            if (prev != null) prev[v] = u;
+            if (size == out.length) out = Arrays.copyOf(out, 2 * size);
+            out[size++] = v;
+            edges += graph.outDegree(v);
+          }
+        }
+      }
+      found[part] = out;
+      foundSize[part] = size;
+      foundEdges[part] = edges;
+    }
+
+    // Looks for a parent in the frontier for every unvisited node of the bitmap words [lo, hi)
+    void bottomUp(int part, int lo, int hi) {
+      // A part finds at most 64 nodes per word
+      int[] out = buffer(part, Math.min(n, 64 * (hi - lo)));
+      int size = 0;
+      long edges = 0;
+      for (int w = lo; w < hi; w++) {
+        long seen = visited.get(w), next = 0;
+        long unvisited = ~seen;
+        if (w == words - 1 && (n & 63) != 0) unvisited &= (1L << n) - 1;
+        while (unvisited != 0) {
+          int v = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+          unvisited &= unvisited - 1;
+          for (int e = reverse.start(v), end = reverse.end(v); e < end; e++) {
+            int u = reverse.target(e);
+            if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+              dist[v] = level + 1;
+              if (prev != null) prev[v] = u;
+              next |= 1L << v;
+              out[size++] = v;
+              edges += graph.outDegree(v);
+              break;
+            }
+          }
+        }
+        // Each part owns its words so no other thread writes them during this step
+        nextBits[w] = next;
+        if (next != 0) visited.set(w, seen | next);
+      }
+      found[part] = out;
+      foundSize[part] = size;
+      foundEdges[part] = edges;
+    }
+
+    // Converts the frontier to a bitmap before the first bottom-up step after top-down steps
+    void buildFrontierBits() {
+      if (frontierBits == null) {
+        frontierBits = new long[words];
+        nextBits = new long[words];
+      }
+      runInParts(
+          words,
+          (part, lo, hi) -> {
+            for (int w = lo; w < hi; w++) {
+              long bits = 0;
+              for (int v = w << 6, end = Math.min(n, v + 64); v < end; v++) {
+                if (dist[v] == level) bits |= 1L << v;
+              }
+              frontierBits[w] = bits;
+            }
+          });
+    }
+
+    // Makes the nodes found by the parts of the last step the new frontier
+    void gather(int partsUsed) {
+      frontierSize = 0;
+      frontierEdges = 0;
+      for (int p = 0; p < partsUsed; p++) {
+        if (foundSize[p] > 0) System.arraycopy(found[p], 0, frontier, frontierSize, foundSize[p]);
+        frontierSize += foundSize[p];
+        frontierEdges += foundEdges[p];
+      }
+    }
+  }
+}
@@ -19,6 +19,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.williamfiset.algorithms.utils.graphutils.Utils.addDirectedEdge;
 import static com.williamfiset.algorithms.utils.graphutils.Utils.createEmptyAdjacencyList;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class Kahns {
@@ -64,6 +65,37 @@ public class Kahns {
     return order;
   }
 
+  // Same as above for a graph in CSR form. Every node enters the queue once, so the
+  // queue is simply the output array: nodes are appended at 'tail' and taken at 'head'.
+  public int[] kahns(CsrGraph g) {
+    int n = g.numNodes();
+
+    int[] inDegree = new int[n];
+    for (int e = 0; e < g.numEdges(); e++) inDegree[g.target(e)]++;
+
+    int[] order = new int[n];
+    int head = 0, tail = 0;
+    for (int i = 0; i < n; i++) {
+      if (inDegree[i] == 0) {
+        order[tail++] = i;
+      }
+    }
+
+    while (head < tail) {
+      int at = order[head++];
+      for (int e = g.start(at), end = g.end(at); e < end; e++) {
+        int to = g.target(e);
+        if (--inDegree[to] == 0) {
+          order[tail++] = to;
+        }
+      }
+    }
+    if (tail != n) {
+      throw new IllegalArgumentException("Graph is not acyclic! Detected a cycle.");
+    }
+    return order;
+  }
+
   // Example usage:
   public static void main(String[] args) {
     exampleFromSlides();
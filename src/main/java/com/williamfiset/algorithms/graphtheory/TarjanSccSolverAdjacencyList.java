@@ -13,12 +13,14 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class TarjanSccSolverAdjacencyList {
 
   private int n;
   private List<List<Integer>> graph;
+  private CsrGraph csrGraph;
 
   private boolean solved;
   private int sccCount, id;
@@ -34,6 +36,18 @@ public class TarjanSccSolverAdjacencyList {
     this.graph = graph;
   }
 
+  private TarjanSccSolverAdjacencyList(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    n = graph.numNodes();
+    this.csrGraph = graph;
+  }
+
+  // Creates a solver for a graph in CSR form, which is solved with an iterative DFS so that
+  // large graphs do not overflow the call stack.
+  public static TarjanSccSolverAdjacencyList fromCsrGraph(CsrGraph graph) {
+    return new TarjanSccSolverAdjacencyList(graph);
+  }
+
   // Returns the number of strongly connected components in the graph.
   public int sccCount() {
     if (!solved) solve();
@@ -57,6 +71,12 @@ public class TarjanSccSolverAdjacencyList {
     stack = new ArrayDeque<>();
     Arrays.fill(ids, UNVISITED);
 
+    if (csrGraph != null) {
+      solveIteratively();
+      solved = true;
+      return;
+    }
+
     for (int i = 0; i < n; i++) {
       if (ids[i] == UNVISITED) {
         dfs(i);
@@ -66,6 +86,57 @@ public class TarjanSccSolverAdjacencyList {
     solved = true;
   }
 
+  // Same as calling dfs on every unvisited node but with explicit stacks. callStack holds the
+  // nodes whose DFS call is in progress and edge[at] is the next edge of 'at' to explore.
+  private void solveIteratively() {
+    int[] edge = new int[n];
+    int[] callStack = new int[n];
+    int[] sccStack = new int[n];
+    int calls = 0, size = 0;
+
+    for (int i = 0; i < n; i++) {
+      if (ids[i] != UNVISITED) continue;
+
+      ids[i] = low[i] = id++;
+      sccStack[size++] = i;
+      visited[i] = true;
+      edge[i] = csrGraph.start(i);
+      callStack[calls++] = i;
+
+      while (calls > 0) {
+        int at = callStack[calls - 1];
+        if (edge[at] < csrGraph.end(at)) {
+          int to = csrGraph.target(edge[at]++);
+          if (ids[to] == UNVISITED) {
+            ids[to] = low[to] = id++;
+            sccStack[size++] = to;
+            visited[to] = true;
+            edge[to] = csrGraph.start(to);
+            callStack[calls++] = to;
+          } else if (visited[to]) {
+            low[at] = min(low[at], ids[to]);
+          }
+          continue;
+        }
+
+        // All the edges of 'at' are explored, return from its call
+        calls--;
+        if (ids[at] == low[at]) {
+          for (int node = sccStack[--size]; ; node = sccStack[--size]) {
+            visited[node] = false;
+            sccs[node] = sccCount;
+            if (node == at) break;
+          }
+          sccCount++;
+        }
+        if (calls > 0) {
+          int parent = callStack[calls - 1];
+          low[parent] = min(low[parent], low[at]);
+        }
+      }
+    }
+  }
+
   private void dfs(int at) {
     ids[at] = low[at] = id++;
     stack.push(at);
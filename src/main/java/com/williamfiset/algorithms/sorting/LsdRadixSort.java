@@ -0,0 +1,154 @@
+/**
+ * Least significant digit (LSD) radix sort working on one byte (base 256) at a time, for both
+ * int[] and long[] arrays.
+ *
+ * <p>Compared to {@link RadixSort}, which uses base 10 digits and only supports positive numbers,
+ * this implementation:
+ *
+ * <ul>
+ *   <li>Needs at most 4 passes for ints and 8 passes for longs.
+ *   <li>Supports negative numbers by flipping the sign bit of the most significant digit, which
+ *       maps two's complement ordering onto unsigned ordering.
+ *   <li>Computes the histograms of all digits in a single scan up front and skips every pass
+ *       where all keys share the same digit (e.g. the upper bytes of small values or timestamps).
+ *   <li>Alternates between the input and a single auxiliary buffer, which callers may pass in to
+ *       reuse across sorts.
+ * </ul>
+ *
+ * <p>Time Complexity: O(n*w/8) where w is the key width in bits
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.LsdRadixSort
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+public class LsdRadixSort implements InplaceSort {
+
+  private static final int RADIX_BITS = 8;
+  private static final int RADIX = 1 << RADIX_BITS;
+  private static final int MASK = RADIX - 1;
+  private static final int INT_DIGITS = Integer.SIZE / RADIX_BITS;
+  private static final int LONG_DIGITS = Long.SIZE / RADIX_BITS;
+
+  @Override
+  public void sort(int[] values) {
+    LsdRadixSort.lsdRadixSort(values);
+  }
+
+  public static void lsdRadixSort(int[] ar) {
+    if (ar == null || ar.length <= 1) return;
+    lsdRadixSort(ar, new int[ar.length]);
+  }
+
+  public static void lsdRadixSort(long[] ar) {
+    if (ar == null || ar.length <= 1) return;
+    lsdRadixSort(ar, new long[ar.length]);
+  }
+
+  // Sorts the array using the provided auxiliary buffer which must be at least as long as the
+  // array. The contents of the buffer are overwritten.
+  public static void lsdRadixSort(int[] ar, int[] buffer) {
+    if (ar == null || ar.length <= 1) return;
+    if (buffer == null || buffer.length < ar.length)
+      throw new IllegalArgumentException("buffer is smaller than the array");
+    final int n = ar.length;
+
+    // Count the occurrences of every digit at every position in a single pass
+    int[][] counts = new int[INT_DIGITS][RADIX];
+    for (int i = 0; i < n; i++) {
+      int key = ar[i] ^ Integer.MIN_VALUE;
+      for (int d = 0; d < INT_DIGITS; d++) {
+        counts[d][(key >>> (d * RADIX_BITS)) & MASK]++;
+      }
+    }
+
+    int[] src = ar, dst = buffer;
+    for (int d = 0; d < INT_DIGITS; d++) {
+      int[] count = counts[d];
+      if (allKeysShareDigit(count, n)) continue;
+      toStartOffsets(count);
+      int shift = d * RADIX_BITS;
+      for (int i = 0; i < n; i++) {
+        int value = src[i];
+        dst[count[((value ^ Integer.MIN_VALUE) >>> shift) & MASK]++] = value;
+      }
+      int[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+
+    // After an odd number of passes the sorted values are sitting in the buffer
+    if (src != ar) System.arraycopy(src, 0, ar, 0, n);
+  }
+
+  // Sorts the array using the provided auxiliary buffer which must be at least as long as the
+  // array. The contents of the buffer are overwritten.
+  public static void lsdRadixSort(long[] ar, long[] buffer) {
+    if (ar == null || ar.length <= 1) return;
+    if (buffer == null || buffer.length < ar.length)
+      throw new IllegalArgumentException("buffer is smaller than the array");
+    final int n = ar.length;
+
+    int[][] counts = new int[LONG_DIGITS][RADIX];
+    for (int i = 0; i < n; i++) {
+      long key = ar[i] ^ Long.MIN_VALUE;
+      for (int d = 0; d < LONG_DIGITS; d++) {
+        counts[d][(int) (key >>> (d * RADIX_BITS)) & MASK]++;
+      }
+    }
+
+    long[] src = ar, dst = buffer;
+    for (int d = 0; d < LONG_DIGITS; d++) {
+      int[] count = counts[d];
+      if (allKeysShareDigit(count, n)) continue;
+      toStartOffsets(count);
+      int shift = d * RADIX_BITS;
+      for (int i = 0; i < n; i++) {
+        long value = src[i];
+        dst[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & MASK]++] = value;
+      }
+      long[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+
+    if (src != ar) System.arraycopy(src, 0, ar, 0, n);
+  }
+
+  // A pass can be skipped when a single digit value accounts for every key
+  private static boolean allKeysShareDigit(int[] count, int n) {
+    for (int i = 0; i < RADIX; i++) {
+      if (count[i] == n) return true;
+      if (count[i] != 0) return false;
+    }
+    return false;
+  }
+
+  // Turns digit frequencies into the starting index of each digit in the output (exclusive
+  // prefix sums) so the scatter loop can place values with a single increment.
+  private static void toStartOffsets(int[] count) {
+    for (int i = 0, sum = 0; i < RADIX; i++) {
+      int c = count[i];
+      count[i] = sum;
+      sum += c;
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new LsdRadixSort();
+    int[] numbers = {387, -468, 134, 123, -68, 221, 769, 37, 7, 0, -1, 587};
+    sorter.sort(numbers);
+    // Prints:
+    // [-468, -68, -1, 0, 7, 37, 123, 134, 221, 387, 587, 769]
+    System.out.println(java.util.Arrays.toString(numbers));
+
+    long[] timestamps = {1600000000123L, -5L, 1600000000001L, Long.MIN_VALUE, Long.MAX_VALUE};
+    LsdRadixSort.lsdRadixSort(timestamps);
+    // Prints:
+    // [-9223372036854775808, -5, 1600000000001, 1600000000123, 9223372036854775807]
+    System.out.println(java.util.Arrays.toString(timestamps));
+  }
+}
@@ -0,0 +1,197 @@
+/**
+ * Parallel mergesort implementation built on the fork/join framework.
+ *
+ * <p>Unlike {@link MergeSort}, which allocates new arrays at every level of the recursion, this
+ * version uses a single scratch buffer the size of the input. The input array and the scratch
+ * buffer alternate roles as source and destination between levels ("ping-pong" merging) so no
+ * copying back is needed after a merge. Subproblems larger than the sequential cutoff are sorted
+ * in parallel and large merges are themselves split in parallel by binary searching for a split
+ * point, so the final O(n) merge does not become a sequential bottleneck.
+ *
+ * <p>Time Complexity: O(nlog(n)) work, O(log^3(n)) span
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.ParallelMergeSort
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelMergeSort implements InplaceSort {
+
+  // Subarrays at or below this size are sorted sequentially.
+  public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Subarrays at or below this size are sorted with insertion sort.
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  private final ForkJoinPool pool;
+  private final int sequentialCutoff;
+
+  public ParallelMergeSort() {
+    this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+  }
+
+  public ParallelMergeSort(int sequentialCutoff) {
+    this(ForkJoinPool.commonPool(), sequentialCutoff);
+  }
+
+  public ParallelMergeSort(ForkJoinPool pool, int sequentialCutoff) {
+    if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+    if (sequentialCutoff <= 0)
+      throw new IllegalArgumentException("sequentialCutoff must be positive: " + sequentialCutoff);
+    this.pool = pool;
+    this.sequentialCutoff = sequentialCutoff;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    if (values == null) return;
+    parallelMergeSort(values, new int[values.length], pool, sequentialCutoff);
+  }
+
+  // Sorts the array using the provided scratch buffer, which must be at least as long as the
+  // array. Callers sorting many arrays can pass the same buffer every time to avoid allocating.
+  public static void parallelMergeSort(
+      int[] ar, int[] scratch, ForkJoinPool pool, int sequentialCutoff) {
+    if (ar == null) return;
+    if (scratch == null || scratch.length < ar.length)
+      throw new IllegalArgumentException("scratch buffer is smaller than the array");
+    int n = ar.length;
+    if (n <= 1) return;
+    System.arraycopy(ar, 0, scratch, 0, n);
+    // A cutoff of at least two guarantees that splitting a merge always makes progress
+    pool.invoke(new SortTask(scratch, ar, 0, n, Math.max(2, sequentialCutoff)));
+  }
+
+  // Sorts the interval [lo, hi) placing the result in dst. On entry src and dst must hold the
+  // same values in [lo, hi); src is clobbered and used as scratch space.
+  private static class SortTask extends RecursiveAction {
+    final int[] src, dst;
+    final int lo, hi, cutoff;
+
+    SortTask(int[] src, int[] dst, int lo, int hi, int cutoff) {
+      this.src = src;
+      this.dst = dst;
+      this.lo = lo;
+      this.hi = hi;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= cutoff) {
+        sequentialSort(src, dst, lo, hi);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      // Sort both halves into src so that they can be merged into dst
+      invokeAll(new SortTask(dst, src, lo, mid, cutoff), new SortTask(dst, src, mid, hi, cutoff));
+      if (src[mid - 1] <= src[mid]) {
+        System.arraycopy(src, lo, dst, lo, hi - lo);
+      } else {
+        new MergeTask(src, lo, mid, mid, hi, dst, lo, cutoff).compute();
+      }
+    }
+  }
+
+  // Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dst starting at index dstLo.
+  private static class MergeTask extends RecursiveAction {
+    final int[] src, dst;
+    final int lo1, hi1, lo2, hi2, dstLo, cutoff;
+
+    MergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int dstLo, int cutoff) {
+      this.src = src;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.dst = dst;
+      this.dstLo = dstLo;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1, n2 = hi2 - lo2;
+      if (n1 + n2 <= cutoff) {
+        merge(src, lo1, hi1, lo2, hi2, dst, dstLo);
+        return;
+      }
+      // Split the larger run in half and find where its middle value falls in the other run.
+      // Everything left of the two split points is less than or equal to everything right of it.
+      int split1, split2;
+      if (n1 >= n2) {
+        split1 = (lo1 + hi1) >>> 1;
+        split2 = lowerBound(src, lo2, hi2, src[split1]);
+      } else {
+        split2 = (lo2 + hi2) >>> 1;
+        split1 = lowerBound(src, lo1, hi1, src[split2]);
+      }
+      int dstMid = dstLo + (split1 - lo1) + (split2 - lo2);
+      invokeAll(
+          new MergeTask(src, lo1, split1, lo2, split2, dst, dstLo, cutoff),
+          new MergeTask(src, split1, hi1, split2, hi2, dst, dstMid, cutoff));
+    }
+  }
+
+  // Same contract as SortTask but without forking any subtasks.
+  private static void sequentialSort(int[] src, int[] dst, int lo, int hi) {
+    if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+      insertionSort(dst, lo, hi);
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    sequentialSort(dst, src, lo, mid);
+    sequentialSort(dst, src, mid, hi);
+    if (src[mid - 1] <= src[mid]) {
+      System.arraycopy(src, lo, dst, lo, hi - lo);
+    } else {
+      merge(src, lo, mid, mid, hi, dst, lo);
+    }
+  }
+
+  private static void merge(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int k) {
+    int i = lo1, j = lo2;
+    while (i < hi1 && j < hi2) {
+      if (src[j] < src[i]) dst[k++] = src[j++];
+      else dst[k++] = src[i++];
+    }
+    while (i < hi1) dst[k++] = src[i++];
+    while (j < hi2) dst[k++] = src[j++];
+  }
+
+  // Returns the index of the first element in ar[lo, hi) which is >= value
+  private static int lowerBound(int[] ar, int lo, int hi, int value) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (ar[mid] < value) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  private static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      int value = ar[i], j = i - 1;
+      while (j >= lo && ar[j] > value) {
+        ar[j + 1] = ar[j];
+        j--;
+      }
+      ar[j + 1] = value;
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelMergeSort();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
@@ -0,0 +1,139 @@
+/**
+ * Parallel version of {@link QuickSort3} (quicksort with Dutch National Flag partitioning) built
+ * on the fork/join framework. After partitioning, the subarrays on both sides of the block of
+ * values equal to the pivot are independent and are sorted in parallel while they are larger than
+ * the sequential cutoff. Below the cutoff the sort proceeds sequentially, recursing on the smaller
+ * side and looping on the larger one to keep the stack depth logarithmic.
+ *
+ * <p>Time Complexity: Θ(nlog(n)) work
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.ParallelQuickSort3
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ParallelQuickSort3 implements InplaceSort {
+
+  // Subarrays at or below this size are sorted sequentially.
+  public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Subarrays at or below this size are sorted with insertion sort.
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  private final ForkJoinPool pool;
+  private final int sequentialCutoff;
+
+  public ParallelQuickSort3() {
+    this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+  }
+
+  public ParallelQuickSort3(int sequentialCutoff) {
+    this(ForkJoinPool.commonPool(), sequentialCutoff);
+  }
+
+  public ParallelQuickSort3(ForkJoinPool pool, int sequentialCutoff) {
+    if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+    if (sequentialCutoff <= 0)
+      throw new IllegalArgumentException("sequentialCutoff must be positive: " + sequentialCutoff);
+    this.pool = pool;
+    this.sequentialCutoff = sequentialCutoff;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    parallelQuickSort3(values, pool, sequentialCutoff);
+  }
+
+  public static void parallelQuickSort3(int[] ar, ForkJoinPool pool, int sequentialCutoff) {
+    if (ar == null || ar.length <= 1) return;
+    pool.invoke(new SortTask(ar, 0, ar.length - 1, sequentialCutoff));
+  }
+
+  // Sorts the interval [lo, hi] inplace
+  private static class SortTask extends RecursiveAction {
+    final int[] ar;
+    final int lo, hi, cutoff;
+
+    SortTask(int[] ar, int lo, int hi, int cutoff) {
+      this.ar = ar;
+      this.lo = lo;
+      this.hi = hi;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo + 1 <= cutoff) {
+        sequentialSort(ar, lo, hi);
+        return;
+      }
+      long bounds = partition3(ar, lo, hi);
+      int lt = (int) (bounds >>> 32), gt = (int) bounds;
+      invokeAll(new SortTask(ar, lo, lt - 1, cutoff), new SortTask(ar, gt + 1, hi, cutoff));
+    }
+  }
+
+  private static void sequentialSort(int[] ar, int lo, int hi) {
+    while (hi - lo + 1 > INSERTION_SORT_THRESHOLD) {
+      long bounds = partition3(ar, lo, hi);
+      int lt = (int) (bounds >>> 32), gt = (int) bounds;
+      if (lt - lo < hi - gt) {
+        sequentialSort(ar, lo, lt - 1);
+        lo = gt + 1;
+      } else {
+        sequentialSort(ar, gt + 1, hi);
+        hi = lt - 1;
+      }
+    }
+    insertionSort(ar, lo, hi);
+  }
+
+  // Partitions ar[lo, hi] around a random pivot into three blocks: values less than, equal to
+  // and greater than the pivot. Returns the inclusive bounds [lt, gt] of the block equal to the
+  // pivot packed into a single long to avoid allocating an array per partition.
+  private static long partition3(int[] ar, int lo, int hi) {
+    int pivot = ar[ThreadLocalRandom.current().nextInt(lo, hi + 1)];
+    int lt = lo, i = lo, gt = hi;
+    while (i <= gt) {
+      if (ar[i] < pivot) swap(ar, lt++, i++);
+      else if (ar[i] > pivot) swap(ar, i, gt--);
+      else i++;
+    }
+    return ((long) lt << 32) | (gt & 0xffffffffL);
+  }
+
+  // Sorts the interval [lo, hi] inplace
+  private static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      int value = ar[i], j = i - 1;
+      while (j >= lo && ar[j] > value) {
+        ar[j + 1] = ar[j];
+        j--;
+      }
+      ar[j + 1] = value;
+    }
+  }
+
+  // Swap two elements
+  private static void swap(int[] ar, int i, int j) {
+    int tmp = ar[i];
+    ar[i] = ar[j];
+    ar[j] = tmp;
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelQuickSort3();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
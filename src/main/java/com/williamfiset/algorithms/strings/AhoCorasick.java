@@ -0,0 +1,198 @@
+/**
+ * An implementation of the Aho-Corasick algorithm, which finds all the occurrences of many patterns
+ * in a text in a single pass over the text.
+ *
+ * <p>The patterns are inserted in a trie whose nodes become the states of an automaton. Each state
+ * gets a failure link to the state of the longest proper suffix of its string which is also in the
+ * trie, and the missing trie edges are replaced by the transitions of the failure state, turning
+ * the trie into a deterministic automaton. Matching then costs one transition per character of the
+ * text, however many patterns there are.
+ *
+ * <p>The transitions are stored in one flat int array with a row per state and a column per
+ * distinct pattern character (characters which appear in no pattern share column 0 which always
+ * leads back to the root), instead of a map per node as in {@link
+ * com.williamfiset.algorithms.datastructures.trie.Trie}. A step of the automaton is then two array
+ * reads with no hashing or boxing.
+ *
+ * <p>Time Complexity: O(m * σ) to build the automaton, where m is the total length of the patterns
+ * and σ the number of distinct pattern characters, and O(n + k) to search a text of length n
+ * with k matches.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.strings;
+
+import java.util.Arrays;
+
+public class AhoCorasick {
+
+  public interface MatchListener {
+    // Called for every occurrence of pattern number 'pattern' starting at index 'start'
+    void onMatch(int pattern, int start);
+  }
+
+  private static final int ROOT = 0;
+
+  // Number of columns of the transition table
+  private final int sigma;
+
+  // Maps a character to its column, characters beyond the array use column 0
+  private final int[] charClass;
+
+  // transitions[state * sigma + column] is the next state
+  private int[] transitions;
+
+  // The first pattern ending at each state (or -1) and the next pattern equal to each pattern
+  private int[] terminal;
+  private final int[] nextDuplicate;
+
+  // The closest state on the failure path of each state where a pattern ends (or the root)
+  private int[] outputLink;
+
+  private final int[] patternLengths;
+  private int stateCount;
+
+  public AhoCorasick(String... patterns) {
+    if (patterns == null) throw new IllegalArgumentException("Null patterns");
+
+    int maxChar = -1;
+    for (String pattern : patterns) {
+      if (pattern == null || pattern.isEmpty())
+        throw new IllegalArgumentException("Patterns cannot be null or empty");
+      for (int i = 0; i < pattern.length(); i++) maxChar = Math.max(maxChar, pattern.charAt(i));
+    }
+    charClass = new int[maxChar + 1];
+    int columns = 1;
+    for (String pattern : patterns) {
+      for (int i = 0; i < pattern.length(); i++) {
+        char c = pattern.charAt(i);
+        if (charClass[c] == 0) charClass[c] = columns++;
+      }
+    }
+    sigma = columns;
+
+    patternLengths = new int[patterns.length];
+    nextDuplicate = new int[patterns.length];
+    Arrays.fill(nextDuplicate, -1);
+    stateCount = 1;
+    transitions = new int[16 * sigma];
+    terminal = new int[16];
+    Arrays.fill(terminal, -1);
+
+    for (int p = 0; p < patterns.length; p++) insert(patterns[p], p);
+    transitions = Arrays.copyOf(transitions, stateCount * sigma);
+    terminal = Arrays.copyOf(terminal, stateCount);
+    buildFailureLinks();
+  }
+
+  // Adds the path of the pattern to the trie, a transition to the root marks a missing edge
+  // since no trie edge leads back to the root.
+  private void insert(String pattern, int p) {
+    int state = ROOT;
+    for (int i = 0; i < pattern.length(); i++) {
+      int index = state * sigma + charClass[pattern.charAt(i)];
+      if (transitions[index] == ROOT) {
+        if (stateCount == terminal.length) grow();
+        transitions[index] = stateCount++;
+      }
+      state = transitions[index];
+    }
+    patternLengths[p] = pattern.length();
+    if (terminal[state] == -1) {
+      terminal[state] = p;
+    } else {
+      int q = terminal[state];
+      while (nextDuplicate[q] != -1) q = nextDuplicate[q];
+      nextDuplicate[q] = p;
+    }
+  }
+
+  private void grow() {
+    int capacity = terminal.length * 2;
+    transitions = Arrays.copyOf(transitions, capacity * sigma);
+    terminal = Arrays.copyOf(terminal, capacity);
+    Arrays.fill(terminal, capacity / 2, capacity, -1);
+  }
+
+  // Visits the states in breadth first order so the failure state of every state, which is less
+  // deep, is complete before it is used.
+  private void buildFailureLinks() {
+    int[] fail = new int[stateCount];
+    outputLink = new int[stateCount];
+    int[] queue = new int[stateCount];
+    int head = 0, tail = 0;
+
+    for (int c = 1; c < sigma; c++) {
+      int child = transitions[c];
+      if (child != ROOT) queue[tail++] = child;
+    }
+    while (head < tail) {
+      int state = queue[head++];
+      int row = state * sigma, failRow = fail[state] * sigma;
+      for (int c = 1; c < sigma; c++) {
+        int child = transitions[row + c];
+        if (child == ROOT) {
+          transitions[row + c] = transitions[failRow + c];
+        } else {
+          int f = transitions[failRow + c];
+          fail[child] = f;
+          outputLink[child] = terminal[f] != -1 ? f : outputLink[f];
+          queue[tail++] = child;
+        }
+      }
+    }
+  }
+
+  public int getPatternCount() {
+    return patternLengths.length;
+  }
+
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  private int step(int state, char c) {
+    return transitions[state * sigma + (c < charClass.length ? charClass[c] : 0)];
+  }
+
+  // Reports every occurrence of every pattern in the text (including overlapping ones)
+  // ordered by the index where they end.
+  public void search(CharSequence text, MatchListener listener) {
+    if (text == null) return;
+    for (int i = 0, state = ROOT; i < text.length(); i++) {
+      state = step(state, text.charAt(i));
+      int s = terminal[state] != -1 ? state : outputLink[state];
+      for (; s != ROOT; s = outputLink[s]) {
+        for (int p = terminal[s]; p != -1; p = nextDuplicate[p]) {
+          listener.onMatch(p, i - patternLengths[p] + 1);
+        }
+      }
+    }
+  }
+
+  // Returns the number of occurrences of each pattern in the text
+  public int[] countMatches(CharSequence text) {
+    int[] counts = new int[patternLengths.length];
+    search(text, (pattern, start) -> counts[pattern]++);
+    return counts;
+  }
+
+  // Returns true if any of the patterns occurs in the text
+  public boolean containsAny(CharSequence text) {
+    if (text == null) return false;
+    for (int i = 0, state = ROOT; i < text.length(); i++) {
+      state = step(state, text.charAt(i));
+      if (terminal[state] != -1 || outputLink[state] != ROOT) return true;
+    }
+    return false;
+  }
+
+  public static void main(String[] args) {
+    AhoCorasick automaton = new AhoCorasick("he", "she", "his", "hers");
+    automaton.search(
+        "ushers", (pattern, start) -> System.out.println(pattern + " found at " + start));
+    // 1 found at 1
+    // 0 found at 2
+    // 3 found at 2
+  }
+}
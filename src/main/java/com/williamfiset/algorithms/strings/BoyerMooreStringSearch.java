@@ -1,6 +1,12 @@
 /**
  * Performs Boyer-Moore search on a given string with a given pattern
  *
+ * <p>Byte arrays and (possibly memory-mapped) byte buffers can be searched directly as well, with
+ * a 256-entry skip table (Boyer-Moore-Horspool). Patterns shorter than a word are searched
+ * differently since they allow only short skips: the text is read 8 bytes at a time and the SWAR
+ * (SIMD within a register) trick finds the positions of the pattern's rarest byte in each word,
+ * which are then the only candidates checked.
+ *
  * <p>./gradlew run -Palgorithm=strings.BoyerMooreStringSearch
  */
 package com.williamfiset.algorithms.strings;
@@ -9,6 +15,8 @@ import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Objects.isNull;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +24,46 @@ public class BoyerMooreStringSearch {
 
   private static final int MAX_ALPHABET_SIZE = 256;
 
+  // Patterns shorter than this are searched with the word at a time scan
+  private static final int SWAR_THRESHOLD = 8;
+
+  private static final long LOW_BITS = 0x0101010101010101L, HIGH_BITS = 0x8080808080808080L;
+
+  // Bytes ordered by how common they usually are in text (most common first), any byte not
+  // listed is assumed to be rare. Used to pick the byte of the pattern to scan for.
+  private static final String COMMON_BYTES =
+      " etaoinsrhldcumfpgwybvkxjqzETAOINSRHLDCUMFPGWYBVKXJQZ0123456789\0\n\r\t.,;:-_/=\"'()<>";
+  private static final int[] BYTE_FREQUENCY_RANK = new int[256];
+
+  static {
+    for (int i = 0; i < COMMON_BYTES.length(); i++) {
+      BYTE_FREQUENCY_RANK[COMMON_BYTES.charAt(i)] = COMMON_BYTES.length() - i;
+    }
+  }
+
+  // A byte pattern together with its skip table and the index of its rarest byte
+  private static class BytePattern {
+    final byte[] bytes;
+    final int[] skipTable = new int[MAX_ALPHABET_SIZE];
+    final int rare;
+    final long rareBroadcast;
+
+    BytePattern(byte[] pattern) {
+      final int m = pattern.length;
+      bytes = pattern;
+      // Horspool shifts: the distance from the last occurrence of each byte (excluding the last
+      // position) to the end of the pattern
+      java.util.Arrays.fill(skipTable, m);
+      for (int i = 0; i < m - 1; i++) skipTable[pattern[i] & 0xFF] = m - 1 - i;
+      int r = 0;
+      for (int i = 1; i < m; i++) {
+        if (BYTE_FREQUENCY_RANK[pattern[i] & 0xFF] < BYTE_FREQUENCY_RANK[pattern[r] & 0xFF]) r = i;
+      }
+      rare = r;
+      rareBroadcast = (pattern[r] & 0xFFL) * LOW_BITS;
+    }
+  }
+
   /**
    * Performs Boyer-Moore search on a given string with a given pattern
    *
@@ -51,6 +99,103 @@ public class BoyerMooreStringSearch {
     return occurrences;
   }
 
+  /**
+   * Performs Boyer-Moore-Horspool search on a byte array
+   *
+   * @param text the bytes being searched in
+   * @param pattern the bytes being searched for
+   * @return List of indexes where the pattern occurs (including overlapping occurrences)
+   */
+  public List<Integer> findByteOccurrences(byte[] text, byte[] pattern) {
+    List<Integer> occurrences = new ArrayList<>();
+    if (isNull(text) || isNull(pattern) || pattern.length == 0) return occurrences;
+    ByteBuffer buffer = ByteBuffer.wrap(text).order(ByteOrder.LITTLE_ENDIAN);
+    BytePattern p = new BytePattern(pattern);
+    for (int i = indexOf(buffer, 0, text.length, p); i != -1; ) {
+      occurrences.add(i);
+      i = indexOf(buffer, i + 1, text.length, p);
+    }
+    return occurrences;
+  }
+
+  /**
+   * Finds the first occurrence of a pattern in a byte array
+   *
+   * @param text the bytes being searched in
+   * @param from the index to start searching from
+   * @param pattern the bytes being searched for
+   * @return the index of the first occurrence at or after from, or -1 if there is none
+   */
+  public int indexOf(byte[] text, int from, byte[] pattern) {
+    if (isNull(text)) return -1;
+    return indexOf(ByteBuffer.wrap(text), from, pattern);
+  }
+
+  /**
+   * Finds the first occurrence of a pattern in the bytes of a buffer up to its limit. Indexes are
+   * absolute and the buffer's position is not changed.
+   *
+   * @param text the buffer being searched in, for example a memory-mapped file
+   * @param from the index to start searching from
+   * @param pattern the bytes being searched for
+   * @return the index of the first occurrence at or after from, or -1 if there is none
+   */
+  public int indexOf(ByteBuffer text, int from, byte[] pattern) {
+    if (isNull(text) || isNull(pattern) || pattern.length == 0) return -1;
+    if (from < 0) throw new IllegalArgumentException("Negative start index: " + from);
+    // The word at a time scan reads the bytes of each word in increasing significance
+    ByteBuffer buffer = text.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    return indexOf(buffer, from, text.limit(), new BytePattern(pattern));
+  }
+
+  private static int indexOf(ByteBuffer text, int from, int to, BytePattern p) {
+    return p.bytes.length < SWAR_THRESHOLD
+        ? swarIndexOf(text, from, to, p)
+        : horspoolIndexOf(text, from, to, p);
+  }
+
+  private static int horspoolIndexOf(ByteBuffer text, int from, int to, BytePattern p) {
+    final byte[] pattern = p.bytes;
+    final int last = pattern.length - 1;
+    final byte lastByte = pattern[last];
+    for (int s = from; s <= to - pattern.length; ) {
+      byte b = text.get(s + last);
+      if (b == lastByte && matchesAt(text, s, pattern)) return s;
+      s += p.skipTable[b & 0xFF];
+    }
+    return -1;
+  }
+
+  // Looks for the rare byte of the pattern 8 bytes at a time. In x = word ^ broadcast the bytes
+  // equal to the rare byte become zero, and (x - 0x01..01) & ~x & 0x80..80 flags the zero bytes.
+  // A borrow can also flag bytes above a zero byte, but every candidate is checked anyway.
+  private static int swarIndexOf(ByteBuffer text, int from, int to, BytePattern p) {
+    final byte[] pattern = p.bytes;
+    final int rare = p.rare;
+    final byte rareByte = pattern[rare];
+    // Candidate positions of the rare byte are in [lo, hi)
+    final int lo = from + rare, hi = to - pattern.length + rare + 1;
+    int i = lo;
+    for (; i + 8 <= hi; i += 8) {
+      long x = text.getLong(i) ^ p.rareBroadcast;
+      long found = (x - LOW_BITS) & ~x & HIGH_BITS;
+      while (found != 0) {
+        int start = i + (Long.numberOfTrailingZeros(found) >>> 3) - rare;
+        if (matchesAt(text, start, pattern)) return start;
+        found &= found - 1;
+      }
+    }
+    for (; i < hi; i++) {
+      if (text.get(i) == rareByte && matchesAt(text, i - rare, pattern)) return i - rare;
+    }
+    return -1;
+  }
+
+  private static boolean matchesAt(ByteBuffer text, int start, byte[] pattern) {
+    for (int j = 0; j < pattern.length; j++) if (text.get(start + j) != pattern[j]) return false;
+    return true;
+  }
+
   private int[] generateSkipTable(String pattern) {
     int[] skipTable = new int[MAX_ALPHABET_SIZE];
     for (int i = 0; i < pattern.length(); i++) {
@@ -0,0 +1,216 @@
+/**
+ * Single pattern matchers which consume their text in chunks, for inputs which arrive piece by
+ * piece (network payloads, file blocks) and should not be buffered whole.
+ *
+ * <p>A matcher keeps its state across chunks so an occurrence split between two chunks is still
+ * found, and reports every occurrence (including overlapping ones) to a listener as its starting
+ * position in the whole stream. Feeding a chunk allocates nothing, the positions are passed as
+ * primitive longs. Chunks can be {@link CharSequence}s or {@link ByteBuffer}s, whose bytes are
+ * read as the characters 0 to 255 (ISO-8859-1).
+ *
+ * <p>Two algorithms are available:
+ *
+ * <ul>
+ *   <li>{@link #kmp}: the Knuth-Morris-Pratt algorithm (see {@link KMP}), which looks at every
+ *       character once and only remembers how much of the pattern is currently matched.
+ *   <li>{@link #boyerMooreHorspool}: the Horspool simplification of Boyer-Moore (see {@link
+ *       BoyerMooreStringSearch}), which skips ahead by up to the pattern length using the last
+ *       character of each window and is faster for long patterns. It carries fewer than m
+ *       characters of each chunk over to the next one.
+ * </ul>
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.strings;
+
+import java.nio.ByteBuffer;
+
+public abstract class StreamingMatcher {
+
+  @FunctionalInterface
+  public interface MatchListener {
+    // Called with the position in the stream where an occurrence of the pattern starts
+    void onMatch(long start);
+  }
+
+  protected final char[] pattern;
+  protected final MatchListener listener;
+
+  // Position in the stream of the first character of the current chunk
+  protected long offset;
+
+  // The current chunk, exactly one of them is set while a chunk is scanned
+  private CharSequence chars;
+  private ByteBuffer bytes;
+  private int bytesStart;
+
+  protected StreamingMatcher(CharSequence pattern, MatchListener listener) {
+    if (pattern == null || pattern.length() == 0)
+      throw new IllegalArgumentException("Pattern cannot be null or empty");
+    if (listener == null) throw new IllegalArgumentException("Null listener");
+    this.pattern = pattern.toString().toCharArray();
+    this.listener = listener;
+  }
+
+  // Creates a matcher using the Knuth-Morris-Pratt algorithm
+  public static StreamingMatcher kmp(CharSequence pattern, MatchListener listener) {
+    return new Kmp(pattern, listener);
+  }
+
+  // Creates a matcher using the Boyer-Moore-Horspool algorithm
+  public static StreamingMatcher boyerMooreHorspool(CharSequence pattern, MatchListener listener) {
+    return new Horspool(pattern, listener);
+  }
+
+  // Scans the next chunk of the stream
+  public void feed(CharSequence chunk) {
+    chars = chunk;
+    try {
+      scan(chunk.length());
+    } finally {
+      chars = null;
+    }
+    offset += chunk.length();
+  }
+
+  // Scans the remaining bytes of the buffer as the next chunk of the stream and moves the
+  // buffer's position to its limit.
+  public void feed(ByteBuffer chunk) {
+    bytes = chunk;
+    bytesStart = chunk.position();
+    int length = chunk.remaining();
+    try {
+      scan(length);
+    } finally {
+      bytes = null;
+    }
+    chunk.position(chunk.limit());
+    offset += length;
+  }
+
+  // Returns the number of characters fed so far
+  public long getPosition() {
+    return offset;
+  }
+
+  // Forgets everything fed so far, the next chunk starts at position 0 again
+  public void reset() {
+    offset = 0;
+  }
+
+  // Returns character i of the current chunk
+  protected final int at(int i) {
+    return chars != null ? chars.charAt(i) : bytes.get(bytesStart + i) & 0xFF;
+  }
+
+  // Scans the current chunk which has the given length
+  protected abstract void scan(int length);
+
+  private static class Kmp extends StreamingMatcher {
+
+    // fail[j] is the length of the longest proper border of pattern[0..j]
+    private final int[] fail;
+
+    // Number of pattern characters matched by the end of the stream so far
+    private int matched;
+
+    Kmp(CharSequence pattern, MatchListener listener) {
+      super(pattern, listener);
+      final int m = this.pattern.length;
+      fail = new int[m];
+      for (int i = 1, len = 0; i < m; ) {
+        if (this.pattern[i] == this.pattern[len]) {
+          fail[i++] = ++len;
+        } else {
+          if (len > 0) len = fail[len - 1];
+          else i++;
+        }
+      }
+    }
+
+    @Override
+    protected void scan(int length) {
+      final char[] pat = pattern;
+      final int m = pat.length;
+      int j = matched;
+      for (int i = 0; i < length; i++) {
+        int c = at(i);
+        while (j > 0 && pat[j] != c) j = fail[j - 1];
+        if (pat[j] == c) j++;
+        if (j == m) {
+          listener.onMatch(offset + i - m + 1);
+          j = fail[m - 1];
+        }
+      }
+      matched = j;
+    }
+
+    @Override
+    public void reset() {
+      super.reset();
+      matched = 0;
+    }
+  }
+
+  private static class Horspool extends StreamingMatcher {
+
+    // How far to shift the window given its last character. Characters are looked up by their low
+    // byte and characters sharing a low byte share the smallest shift, which is always safe.
+    private final int[] skip = new int[256];
+
+    // The characters from the start of the next window to the end of the stream so far, fewer
+    // than m of them (otherwise the window would have been checked).
+    private final char[] tail;
+    private int tailLength;
+
+    Horspool(CharSequence pattern, MatchListener listener) {
+      super(pattern, listener);
+      final int m = this.pattern.length;
+      java.util.Arrays.fill(skip, m);
+      for (int i = 0; i < m - 1; i++) {
+        int b = this.pattern[i] & 0xFF;
+        skip[b] = Math.min(skip[b], m - 1 - i);
+      }
+      tail = new char[m];
+    }
+
+    // Returns character k of the tail followed by the current chunk
+    private int charAt(int k) {
+      return k < tailLength ? tail[k] : at(k - tailLength);
+    }
+
+    @Override
+    protected void scan(int length) {
+      final char[] pat = pattern;
+      final int m = pat.length, total = tailLength + length;
+      final long base = offset - tailLength;
+      int s = 0;
+      while (s + m <= total) {
+        int c = charAt(s + m - 1);
+        if (c == pat[m - 1]) {
+          int j = m - 2;
+          while (j >= 0 && charAt(s + j) == pat[j]) j--;
+          if (j < 0) listener.onMatch(base + s);
+        }
+        s += skip[c & 0xFF];
+      }
+
+      // Keep the characters from the next window onwards, first those already in the tail
+      int keep = 0;
+      if (s < tailLength) {
+        keep = tailLength - s;
+        System.arraycopy(tail, s, tail, 0, keep);
+      }
+      for (int k = Math.max(s, tailLength); k < total; k++) {
+        tail[keep++] = (char) at(k - tailLength);
+      }
+      tailLength = keep;
+    }
+
+    @Override
+    public void reset() {
+      super.reset();
+      tailLength = 0;
+    }
+  }
+}
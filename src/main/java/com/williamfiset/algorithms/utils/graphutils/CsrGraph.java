@@ -0,0 +1,229 @@
+/**
+ * An immutable directed graph in Compressed Sparse Row (CSR) form.
+ *
+ * <p>The targets of all the edges are stored in one int array, grouped by the node they leave
+ * from, and offsets[u] is the index of the first edge leaving node u (offsets has n + 1 entries so
+ * the edges of u are the indexes [offsets[u], offsets[u + 1])). Edge weights, if any, are stored in
+ * a parallel double array. This takes 4 bytes per edge (12 when weighted) instead of roughly 40 for
+ * a boxed Integer or Edge object in a List per node, and the edges of a node are next to each other
+ * in memory.
+ *
+ * <p>The arrays are held as {@link IntBuffer}s and {@link DoubleBuffer}s so that a graph can be
+ * backed either by heap arrays or by direct (for example memory-mapped) buffers.
+ *
+ * <p>Use {@link #fromEdges}, {@link #fromAdjacencyList} or a {@link Builder} to create a graph.
+ * The edges of each node keep the order in which they were given.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public final class CsrGraph {
+
+  private final int n, m;
+  private final IntBuffer offsets, targets;
+
+  // Null for unweighted graphs, whose edges all have weight 1
+  private final DoubleBuffer weights;
+
+  /**
+   * Creates a graph from its CSR arrays, checking that they are consistent. The arrays are copied
+   * so changing them afterwards does not change the graph.
+   *
+   * @param offsets - n + 1 non decreasing edge indexes starting at 0 and ending at targets.length.
+   * @param targets - The node each edge goes to.
+   * @param weights - The weight of each edge, or null for an unweighted graph.
+   */
+  public CsrGraph(int[] offsets, int[] targets, double[] weights) {
+    this(copy(offsets), copy(targets), weights == null ? null : DoubleBuffer.wrap(weights.clone()));
+    for (int u = 0; u < n; u++) {
+      if (this.offsets.get(u) > this.offsets.get(u + 1))
+        throw new IllegalArgumentException("Offsets must not decrease");
+    }
+    for (int e = 0; e < m; e++) {
+      int to = this.targets.get(e);
+      if (to < 0 || to >= n) throw new IllegalArgumentException("Edge target out of bounds: " + to);
+    }
+  }
+
+  private static IntBuffer copy(int[] array) {
+    if (array == null) throw new IllegalArgumentException("Null array");
+    return IntBuffer.wrap(array.clone());
+  }
+
+  /**
+   * Creates a graph from buffers holding its CSR arrays (from their positions to their limits).
+   * Only the sizes are checked, so that wrapping large (memory-mapped) buffers is cheap. The
+   * buffers are not copied: the graph is only immutable if their contents are not changed
+   * afterwards.
+   */
+  public CsrGraph(IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+    if (offsets == null || targets == null) throw new IllegalArgumentException("Null array");
+    this.offsets = offsets.slice();
+    this.targets = targets.slice();
+    this.weights = weights == null ? null : weights.slice();
+    n = this.offsets.limit() - 1;
+    m = this.targets.limit();
+    if (n < 0) throw new IllegalArgumentException("Offsets must have n + 1 entries");
+    if (this.offsets.get(0) != 0 || this.offsets.get(n) != m)
+      throw new IllegalArgumentException("Offsets must start at 0 and end at the edge count");
+    if (this.weights != null && this.weights.limit() != m)
+      throw new IllegalArgumentException("There must be one weight per edge");
+  }
+
+  /**
+   * Creates a graph with n nodes from a list of directed edges.
+   *
+   * @param from - The node each edge leaves from.
+   * @param to - The node each edge goes to.
+   * @param weights - The weight of each edge, or null for an unweighted graph.
+   */
+  public static CsrGraph fromEdges(int n, int[] from, int[] to, double[] weights) {
+    return fromEdges(n, from, to, weights, from == null ? 0 : from.length);
+  }
+
+  public static CsrGraph fromEdges(int n, int[] from, int[] to) {
+    return fromEdges(n, from, to, null);
+  }
+
+  // Counting sort of the first m edges by the node they leave from, keeping their order
+  private static CsrGraph fromEdges(int n, int[] from, int[] to, double[] weights, int m) {
+    if (n < 0) throw new IllegalArgumentException("n cannot be negative; received: " + n);
+    if (from == null || to == null || from.length < m || to.length < m)
+      throw new IllegalArgumentException("There must be a 'from' and a 'to' node per edge");
+    if (weights != null && weights.length < m)
+      throw new IllegalArgumentException("There must be one weight per edge");
+
+    int[] offsets = new int[n + 1];
+    for (int e = 0; e < m; e++) {
+      if (from[e] < 0 || from[e] >= n)
+        throw new IllegalArgumentException("'from' node index out of bounds; received: " + from[e]);
+      if (to[e] < 0 || to[e] >= n)
+        throw new IllegalArgumentException("'to' node index out of bounds; received: " + to[e]);
+      offsets[from[e] + 1]++;
+    }
+    for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+    int[] next = Arrays.copyOf(offsets, n);
+    int[] targets = new int[m];
+    double[] w = weights == null ? null : new double[m];
+    for (int e = 0; e < m; e++) {
+      int i = next[from[e]]++;
+      targets[i] = to[e];
+      if (w != null) w[i] = weights[e];
+    }
+    return new CsrGraph(
+        IntBuffer.wrap(offsets), IntBuffer.wrap(targets), w == null ? null : DoubleBuffer.wrap(w));
+  }
+
+  // Creates an unweighted graph from an adjacency list such as the ones created by
+  // Utils.createEmptyAdjacencyList
+  public static CsrGraph fromAdjacencyList(List<List<Integer>> graph) {
+    if (graph == null) throw new IllegalArgumentException("graph cannot be null");
+    final int n = graph.size();
+    int[] offsets = new int[n + 1];
+    for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + graph.get(u).size();
+    int[] targets = new int[offsets[n]];
+    for (int u = 0, i = 0; u < n; u++) for (int to : graph.get(u)) targets[i++] = to;
+    return new CsrGraph(offsets, targets, null);
+  }
+
+  // Builds a graph one edge at a time
+  public static class Builder {
+    private final int n;
+    private int m;
+    private int[] from = new int[16], to = new int[16];
+    private double[] weights = new double[16];
+    private boolean weighted;
+
+    public Builder(int n) {
+      if (n < 0) throw new IllegalArgumentException("n cannot be negative; received: " + n);
+      this.n = n;
+    }
+
+    public Builder addDirectedEdge(int u, int v, double weight) {
+      if (m == from.length) {
+        from = Arrays.copyOf(from, 2 * m);
+        to = Arrays.copyOf(to, 2 * m);
+        weights = Arrays.copyOf(weights, 2 * m);
+      }
+      from[m] = u;
+      to[m] = v;
+      weights[m++] = weight;
+      weighted |= weight != 1;
+      return this;
+    }
+
+    public Builder addDirectedEdge(int u, int v) {
+      return addDirectedEdge(u, v, 1);
+    }
+
+    public Builder addUndirectedEdge(int u, int v, double weight) {
+      return addDirectedEdge(u, v, weight).addDirectedEdge(v, u, weight);
+    }
+
+    public Builder addUndirectedEdge(int u, int v) {
+      return addUndirectedEdge(u, v, 1);
+    }
+
+    // The graph is unweighted if all the edges have weight 1
+    public CsrGraph build() {
+      return fromEdges(n, from, to, weighted ? weights : null, m);
+    }
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  public int numEdges() {
+    return m;
+  }
+
+  public boolean isWeighted() {
+    return weights != null;
+  }
+
+  // Returns the index of the first edge leaving node u
+  public int start(int u) {
+    return offsets.get(u);
+  }
+
+  // Returns the index after the last edge leaving node u
+  public int end(int u) {
+    return offsets.get(u + 1);
+  }
+
+  public int outDegree(int u) {
+    return end(u) - start(u);
+  }
+
+  // Returns the node edge e goes to
+  public int target(int e) {
+    return targets.get(e);
+  }
+
+  // Returns the weight of edge e, 1 for unweighted graphs
+  public double weight(int e) {
+    return weights == null ? 1 : weights.get(e);
+  }
+
+  // Returns the graph with all the edges reversed
+  public CsrGraph transpose() {
+    int[] from = new int[m], to = new int[m];
+    double[] w = weights == null ? null : new double[m];
+    for (int u = 0; u < n; u++) {
+      for (int e = start(u); e < end(u); e++) {
+        from[e] = target(e);
+        to[e] = u;
+        if (w != null) w[e] = weights.get(e);
+      }
+    }
+    return fromEdges(n, from, to, w);
+  }
+}
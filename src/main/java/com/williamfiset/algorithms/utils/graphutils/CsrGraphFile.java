@@ -0,0 +1,138 @@
+/**
+ * A binary file format for {@link CsrGraph}s which is opened by memory-mapping the file, so a large
+ * graph can be queried right away: there is nothing to parse and nothing is copied onto the heap,
+ * the operating system pages in the parts of the file which a query touches (and shares them
+ * between processes opening the same file).
+ *
+ * <p>The file is a 24 byte header (magic number, version, n, m, flags and a reserved int) followed
+ * by the offsets array (n + 1 ints), the targets array (m ints) and, for weighted graphs, the
+ * weights array (m doubles). All values are little-endian, the byte order of most hardware, so the
+ * mapped buffers are read without swapping bytes, and every section starts at a multiple of 8
+ * bytes. A single mapping is limited to 2GB, so the targets can hold at most 2^29 edges and the
+ * weights 2^28 edges; the whole file can still be several GB.
+ *
+ * <p>Opening a file only checks its header and its size: a corrupted file can make queries throw
+ * IndexOutOfBoundsException.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class CsrGraphFile {
+
+  // File format identifiers, MAGIC spells "CSRG"
+  private static final int MAGIC = 0x43535247, VERSION = 1, HEADER_SIZE = 24;
+
+  private static final int FLAG_WEIGHTED = 1;
+
+  private CsrGraphFile() {}
+
+  // Writes the graph to a file which can be opened with 'map'
+  public static void write(CsrGraph graph, Path file) throws IOException {
+    if (graph == null) throw new IllegalArgumentException("Null graph");
+    final int n = graph.numNodes(), m = graph.numEdges();
+    if (n >= Integer.MAX_VALUE / 4)
+      throw new IllegalArgumentException("Too many nodes to map: " + n);
+    if (graph.isWeighted() ? m > Integer.MAX_VALUE / 8 : m > Integer.MAX_VALUE / 4)
+      throw new IllegalArgumentException("Too many edges to map: " + m);
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m);
+      buffer.putInt(graph.isWeighted() ? FLAG_WEIGHTED : 0).putInt(0);
+      for (int u = 0; u <= n; u++) {
+        if (buffer.remaining() < 4) drain(buffer, channel);
+        buffer.putInt(u < n ? graph.start(u) : m);
+      }
+      pad(buffer, channel, n + 1);
+      for (int e = 0; e < m; e++) {
+        if (buffer.remaining() < 4) drain(buffer, channel);
+        buffer.putInt(graph.target(e));
+      }
+      pad(buffer, channel, m);
+      if (graph.isWeighted()) {
+        for (int e = 0; e < m; e++) {
+          if (buffer.remaining() < 8) drain(buffer, channel);
+          buffer.putDouble(graph.weight(e));
+        }
+      }
+      drain(buffer, channel);
+    }
+  }
+
+  // Pads an int section of the given length to a multiple of 8 bytes
+  private static void pad(ByteBuffer buffer, FileChannel channel, long ints) throws IOException {
+    if ((ints & 1) == 0) return;
+    if (buffer.remaining() < 4) drain(buffer, channel);
+    buffer.putInt(0);
+  }
+
+  private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  // Length in bytes of an int section including its padding
+  private static long intSectionBytes(long ints) {
+    return (4 * ints + 7) & ~7L;
+  }
+
+  // Memory-maps a graph written by 'write'. The mapping stays valid after this method returns and
+  // is released when the graph is garbage collected.
+  public static CsrGraph map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining() && channel.read(header) != -1) {}
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+        throw new IOException("Not a CSR graph file");
+      int version = header.getInt();
+      if (version != VERSION) throw new IOException("Unsupported graph file version: " + version);
+      int n = header.getInt(), m = header.getInt(), flags = header.getInt();
+      boolean weighted = (flags & FLAG_WEIGHTED) != 0;
+      if (n < 0 || m < 0) throw new IOException("Corrupted graph file header");
+
+      long offsetsBytes = intSectionBytes(n + 1L), targetsBytes = intSectionBytes(m);
+      long weightsBytes = weighted ? 8L * m : 0;
+      if (channel.size() < HEADER_SIZE + offsetsBytes + targetsBytes + weightsBytes)
+        throw new IOException("Truncated graph file");
+
+      long position = HEADER_SIZE;
+      IntBuffer offsets = mapSection(channel, position, 4L * (n + 1)).asIntBuffer();
+      position += offsetsBytes;
+      IntBuffer targets = mapSection(channel, position, 4L * m).asIntBuffer();
+      position += targetsBytes;
+      DoubleBuffer weights =
+          weighted ? mapSection(channel, position, 8L * m).asDoubleBuffer() : null;
+
+      try {
+        return new CsrGraph(offsets, targets, weights);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Corrupted graph file: " + e.getMessage());
+      }
+    }
+  }
+
+  private static ByteBuffer mapSection(FileChannel channel, long position, long size)
+      throws IOException {
+    if (size > Integer.MAX_VALUE) throw new IOException("Graph file section too large to map");
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    return buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
@@ -2,6 +2,14 @@ package com.williamfiset.algorithms.datastructures.bloomfilter;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.SecureRandom;
 import java.util.HashSet;
 import java.util.Random;
@@ -101,6 +109,266 @@ public class BloomFilterTest {
     }
   }
 
+  @Test
+  public void testBloomFilterBatchOperations() {
+    int[] mods = {10009, 100003, 1000003};
+    BloomFilter filter = new BloomFilter(mods);
+    long[][] added = new long[TEST_SZ][], absent = new long[TEST_SZ][];
+    for (int i = 0; i < TEST_SZ; i++) {
+      added[i] = new long[] {i % mods[0], (7L * i) % mods[1], (13L * i) % mods[2]};
+      absent[i] = new long[] {i % mods[0], (7L * i + 1) % mods[1], (13L * i + 1) % mods[2]};
+    }
+    filter.addAll(added);
+
+    boolean[] results = new boolean[TEST_SZ];
+    assertThat(filter.containsAll(added, results)).isEqualTo(TEST_SZ);
+    for (boolean result : results) assertThat(result).isTrue();
+    assertThat(filter.containsAll(absent, results)).isLessThan(TEST_SZ / 10);
+  }
+
+  @Test
+  public void testBlockedBloomFilterNoFalseNegatives() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(10 * TEST_SZ, 7);
+    long[] keys = new long[TEST_SZ];
+    for (int i = 0; i < TEST_SZ; i++) keys[i] = rand.nextLong();
+    filter.addAll(keys);
+    for (long key : keys) assertThat(filter.contains(key)).isTrue();
+
+    // Check the batch API on a batch size which is not a multiple of the internal batch size
+    long[] queries = new long[TEST_SZ + 7];
+    for (int i = 0; i < queries.length; i++) queries[i] = i < TEST_SZ ? keys[i] : rand.nextLong();
+    boolean[] results = new boolean[queries.length];
+    assertThat(filter.containsAll(queries, results)).isAtLeast(TEST_SZ);
+    for (int i = 0; i < queries.length; i++) {
+      assertThat(results[i]).isEqualTo(filter.contains(queries[i]));
+    }
+  }
+
+  @Test
+  public void testBlockedBloomFilterFalsePositiveRate() {
+    // With 10 bits per key and k = 7 a classic bloom filter has a false positive rate of
+    // about 0.8%, a blocked one is slightly worse.
+    int n = 100000;
+    BlockedBloomFilter filter = new BlockedBloomFilter(10L * n, 7);
+    for (long i = 0; i < n; i++) filter.add(i);
+    int falsePositives = 0;
+    for (long i = n; i < 2 * n; i++) if (filter.contains(i)) falsePositives++;
+    assertThat(falsePositives).isLessThan(n / 50);
+    assertThat(filter.fillRatio()).isLessThan(0.6);
+  }
+
+  @Test
+  public void testBlockedBloomFilterHashArrays() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(1 << 16, 4);
+    long[][] keyHashes = new long[TEST_SZ][];
+    for (int i = 0; i < TEST_SZ; i++) keyHashes[i] = new long[] {i, 3L * i, 5L * i};
+    filter.addAll(keyHashes);
+    boolean[] results = new boolean[TEST_SZ];
+    assertThat(filter.containsAll(keyHashes, results)).isEqualTo(TEST_SZ);
+    for (long[] hashes : keyHashes) assertThat(filter.contains(hashes)).isTrue();
+
+    filter.clear();
+    assertThat(filter.fillRatio()).isEqualTo(0.0);
+    assertThat(filter.containsAll(keyHashes, results)).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBlockedBloomFilterIllegalK() {
+    new BlockedBloomFilter(1024, 0);
+  }
+
+  @Test
+  public void testBloomFilterSnapshots() throws IOException {
+    int[] sizes = {61, 10009, 100003};
+    BloomFilter filter = new BloomFilter(sizes);
+    long[][] keyHashes = new long[TEST_SZ][];
+    for (int i = 0; i < TEST_SZ; i++) {
+      keyHashes[i] = new long[] {i % sizes[0], (7L * i) % sizes[1], (13L * i) % sizes[2]};
+    }
+    filter.addAll(keyHashes);
+
+    Path file = Files.createTempFile("bloomfilter", ".bin");
+    try {
+      filter.save(file);
+      BloomFilter loaded = BloomFilter.load(file);
+      BloomFilter mapped = BloomFilter.map(file);
+      assertThat(loaded.getSetSizes()).isEqualTo(sizes);
+      assertThat(mapped.getSetSizes()).isEqualTo(sizes);
+      assertThat(loaded.toString()).isEqualTo(filter.toString());
+      assertThat(mapped.toString()).isEqualTo(filter.toString());
+      for (int i = 0; i < 3 * TEST_SZ; i++) {
+        long[] hashes = {i % sizes[0], (11L * i) % sizes[1], (3L * i) % sizes[2]};
+        assertThat(loaded.contains(hashes)).isEqualTo(filter.contains(hashes));
+        assertThat(mapped.contains(hashes)).isEqualTo(filter.contains(hashes));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testMappedBloomFilterIsReadOnly() throws IOException {
+    Path file = Files.createTempFile("bloomfilter", ".bin");
+    try {
+      new BloomFilter(new int[] {100}).save(file);
+      BloomFilter.map(file).add(new long[] {5});
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadRejectsOtherFiles() throws IOException {
+    Path file = Files.createTempFile("bloomfilter", ".bin");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+      BloomFilter.load(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  // A header claiming far more bitsets than the input holds must fail without allocating them
+  @Test
+  public void testCorruptSetCountIsRejected() throws IOException {
+    // "BLOM", version 1 and Integer.MAX_VALUE bitsets
+    byte[] header = {0x42, 0x4C, 0x4F, 0x4D, 0, 0, 0, 1, 0x7F, -1, -1, -1};
+    Path file = Files.createTempFile("bloomfilter", ".bin");
+    try {
+      Files.write(file, header);
+      try {
+        BloomFilter.load(file);
+        throw new AssertionError("load accepted a corrupt snapshot");
+      } catch (IOException expected) {
+      }
+      try {
+        BloomFilter.map(file);
+        throw new AssertionError("map accepted a corrupt snapshot");
+      } catch (IOException expected) {
+      }
+      try {
+        BloomFilter.readFrom(new ByteArrayInputStream(header));
+        throw new AssertionError("readFrom accepted a corrupt snapshot");
+      } catch (IOException expected) {
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testStringSetSnapshots() throws IOException {
+    final String s = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    StringSet set = new StringSet(s.length());
+    set.addAllSubstrings(s);
+
+    Path file = Files.createTempFile("stringset", ".bin");
+    try {
+      set.save(file);
+      StringSet loaded = StringSet.load(file);
+      StringSet mapped = StringSet.map(file);
+      for (int i = 0; i < s.length(); i++) {
+        for (int j = i + 1; j <= s.length(); j++) {
+          String sub = s.substring(i, j);
+          assertThat(loaded.contains(sub)).isTrue();
+          assertThat(mapped.contains(sub)).isTrue();
+        }
+      }
+      for (int l = 0; l < LOOPS; l++) {
+        String randStr = randomString(1 + rand.nextInt(10));
+        assertThat(loaded.contains(randStr)).isEqualTo(set.contains(randStr));
+        assertThat(mapped.contains(randStr)).isEqualTo(set.contains(randStr));
+      }
+
+      // A loaded set is writable
+      loaded.add("!!!");
+      assertThat(loaded.contains("!!!")).isTrue();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testStringSetStreamingScan() throws IOException {
+    String[] needles = {"error", "timeout", "disk full", "e"};
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      sb.append(randomString(1 + rand.nextInt(20)));
+      if (i % 7 == 0) sb.append(needles[rand.nextInt(needles.length)]);
+      sb.append(i % 3 == 0 ? '\n' : '\u00e9');
+    }
+    String text = sb.toString();
+
+    StringSet set = new StringSet(16);
+    int[] lengths = new int[needles.length];
+    for (int i = 0; i < needles.length; i++) {
+      set.add(needles[i]);
+      lengths[i] = needles[i].length();
+    }
+
+    // Every occurrence of a needle must be reported, and every reported window
+    // should (with overwhelming probability) be a needle.
+    Set<String> expected = new HashSet<>(), found = new HashSet<>();
+    for (String needle : needles) {
+      for (int i = text.indexOf(needle); i != -1; i = text.indexOf(needle, i + 1)) {
+        expected.add(i + ":" + needle.length());
+      }
+    }
+    StringSet.MatchListener listener = (start, len) -> found.add(start + ":" + len);
+    long read = set.scan(new StringReader(text), listener, lengths);
+    assertThat(read).isEqualTo((long) text.length());
+    assertThat(found).isEqualTo(expected);
+
+    // Scanning a channel treats bytes as ISO-8859-1 characters
+    Set<String> foundInChannel = new HashSet<>();
+    ReadableByteChannel channel =
+        Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1)));
+    set.scan(channel, (start, len) -> foundInChannel.add(start + ":" + len), lengths);
+    assertThat(foundInChannel).isEqualTo(expected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStringSetScanWindowTooLong() throws IOException {
+    new StringSet(4).scan(new StringReader("abcdef"), (start, len) -> {}, 5);
+  }
+
+  // Snapshots whose maximum length or bitset count is corrupt must fail with an IOException
+  @Test
+  public void testStringSetCorruptSnapshots() throws IOException {
+    Path file = Files.createTempFile("stringset", ".bin");
+    try {
+      new StringSet(8).save(file);
+      byte[] snapshot = Files.readAllBytes(file);
+      // The maximum length is at offset 8, the bitset count of the bloom filter at offset 24
+      for (int offset : new int[] {8, 24}) {
+        for (int value : new int[] {-1, 0, Integer.MAX_VALUE}) {
+          // A filter without bitsets is well formed
+          if (offset == 24 && value == 0) continue;
+          byte[] corrupt = snapshot.clone();
+          for (int i = 0; i < 4; i++) corrupt[offset + i] = (byte) (value >>> (24 - 8 * i));
+          Files.write(file, corrupt);
+          try {
+            StringSet.load(file);
+            throw new AssertionError("load accepted a corrupt snapshot");
+          } catch (IOException expected) {
+          }
+          try {
+            StringSet.map(file);
+            throw new AssertionError("map accepted a corrupt snapshot");
+          } catch (IOException expected) {
+          }
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStringSetScanWithoutLengths() throws IOException {
+    new StringSet(4).scan(new StringReader("abcdef"), (start, len) -> {});
+  }
+
   static int randNum(int min, int max) {
     int range = max - min + 1;
     return rand.nextInt(range) + min;
@@ -0,0 +1,103 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.*;
+
+public class ConcurrentBloomFilterTest {
+
+  static final int THREADS = 8;
+  static final int[] MODS = {10009, 100003, 1000003};
+
+  static long[] hashes(int key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    long[] hashes = new long[MODS.length];
+    for (int i = 0; i < MODS.length; i++) {
+      hashes[i] = Long.remainderUnsigned(h ^ (h >>> (17 + i)), MODS[i]);
+    }
+    return hashes;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSize() {
+    new ConcurrentBloomFilter(new int[] {64, 0});
+  }
+
+  @Test
+  public void testSingleThreaded() {
+    ConcurrentBloomFilter filter = new ConcurrentBloomFilter(MODS);
+    long[][] keyHashes = new long[1000][];
+    for (int i = 0; i < keyHashes.length; i++) keyHashes[i] = hashes(i);
+    filter.addAll(keyHashes);
+    boolean[] results = new boolean[keyHashes.length];
+    assertThat(filter.containsAll(keyHashes, results)).isEqualTo(keyHashes.length);
+
+    int falsePositives = 0;
+    for (int i = 1000; i < 2000; i++) if (filter.contains(hashes(i))) falsePositives++;
+    assertThat(falsePositives).isLessThan(10);
+  }
+
+  // A negative hash must map inside its own bitset and not clear or set bits of another one
+  @Test
+  public void testNegativeHashes() {
+    int[] sizes = {64, 64};
+    ConcurrentBloomFilter filter = new ConcurrentBloomFilter(sizes);
+    filter.add(new long[] {-1, -65});
+    assertThat(filter.contains(new long[] {63, 63})).isTrue();
+    assertThat(filter.contains(new long[] {-1, -1})).isTrue();
+    assertThat(filter.contains(new long[] {63, 62})).isFalse();
+
+    ConcurrentBloomFilter other = new ConcurrentBloomFilter(sizes);
+    other.add(1, -1);
+    assertThat(other.contains(new long[] {63, 63})).isFalse();
+    other.add(0, Long.MIN_VALUE);
+    assertThat(other.contains(new long[] {0, 63})).isTrue();
+  }
+
+  // Same as a regular BloomFilter given the same inserts
+  @Test
+  public void testMatchesBloomFilter() {
+    BloomFilter expected = new BloomFilter(MODS);
+    ConcurrentBloomFilter filter = new ConcurrentBloomFilter(MODS);
+    for (int i = 0; i < 5000; i += 2) {
+      expected.add(hashes(i));
+      filter.add(hashes(i));
+    }
+    for (int i = 0; i < 10000; i++) {
+      assertThat(filter.contains(hashes(i))).isEqualTo(expected.contains(hashes(i)));
+    }
+  }
+
+  // Every key sets a distinct bit of the first bitset, but threads fight over the same
+  // longs, so a lost update would show up as a false negative.
+  @Test
+  public void testConcurrentAddsAreNotLost() throws Exception {
+    final int[] sizes = {4096, 4099};
+    final int keysPerThread = 500;
+    final ConcurrentBloomFilter filter = new ConcurrentBloomFilter(sizes);
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int first = t;
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                for (int i = first; i < THREADS * keysPerThread; i += THREADS) {
+                  filter.add(new long[] {i % sizes[0], (i * 7L) % sizes[1]});
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) future.get();
+    pool.shutdown();
+
+    for (int i = 0; i < THREADS * keysPerThread; i++) {
+      assertThat(filter.contains(new long[] {i % sizes[0], (i * 7L) % sizes[1]})).isTrue();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.*;
+
+public class CountingBloomFilterTest {
+
+  static final int[] MODS = {10009, 100003, 1000003};
+
+  static long[] hashes(int key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    long[] hashes = new long[MODS.length];
+    for (int i = 0; i < MODS.length; i++) {
+      hashes[i] = Long.remainderUnsigned(h ^ (h >>> (17 + i)), MODS[i]);
+    }
+    return hashes;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSize() {
+    new CountingBloomFilter(new int[] {-1});
+  }
+
+  @Test
+  public void testAddRemove() {
+    CountingBloomFilter filter = new CountingBloomFilter(MODS);
+    for (int i = 0; i < 1000; i++) filter.add(hashes(i));
+    for (int i = 0; i < 1000; i++) assertThat(filter.contains(hashes(i))).isTrue();
+
+    // Remove the even keys, the odd ones must still be there
+    for (int i = 0; i < 1000; i += 2) assertThat(filter.remove(hashes(i))).isTrue();
+    for (int i = 1; i < 1000; i += 2) assertThat(filter.contains(hashes(i))).isTrue();
+    int stillPresent = 0;
+    for (int i = 0; i < 1000; i += 2) if (filter.contains(hashes(i))) stillPresent++;
+    assertThat(stillPresent).isLessThan(5);
+  }
+
+  @Test
+  public void testRemoveAbsentKeyDoesNothing() {
+    CountingBloomFilter filter = new CountingBloomFilter(new int[] {100});
+    filter.add(new long[] {5});
+    assertThat(filter.remove(new long[] {6})).isFalse();
+    assertThat(filter.count(new long[] {5})).isEqualTo(1);
+  }
+
+  @Test
+  public void testCountsAndSaturation() {
+    CountingBloomFilter filter = new CountingBloomFilter(new int[] {64, 65});
+    long[] key = {17, 33};
+    for (int i = 1; i <= 14; i++) {
+      filter.add(key);
+      assertThat(filter.count(key)).isEqualTo(i);
+    }
+
+    // Saturated counters stick at 15 and are never decremented
+    filter.add(key);
+    filter.add(key);
+    assertThat(filter.count(key)).isEqualTo(15);
+    filter.remove(key);
+    assertThat(filter.count(key)).isEqualTo(15);
+
+    // Neighbouring counters in the same long are unaffected
+    assertThat(filter.contains(new long[] {16, 32})).isFalse();
+    assertThat(filter.contains(new long[] {18, 34})).isFalse();
+
+    filter.clear();
+    assertThat(filter.contains(key)).isFalse();
+  }
+}
@@ -0,0 +1,51 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class ScalableBloomFilterTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCapacity() {
+    new ScalableBloomFilter(0, 0.01);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalFalsePositiveRate() {
+    new ScalableBloomFilter(100, 1.0);
+  }
+
+  @Test
+  public void testGrowsAndKeepsFalsePositiveRate() {
+    final double p = 0.01;
+    final int n = 100000;
+    ScalableBloomFilter filter = new ScalableBloomFilter(1000, p);
+    Random random = new Random(0);
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = random.nextLong();
+      filter.add(keys[i]);
+    }
+
+    // 100x the initial capacity needs about log2(100) extra layers
+    assertThat(filter.getLayerCount()).isAtLeast(6);
+    assertThat(filter.size()).isAtMost((long) n);
+    assertThat(filter.size()).isAtLeast((long) (n * (1 - p)));
+    for (long key : keys) assertThat(filter.contains(key)).isTrue();
+
+    int falsePositives = 0;
+    for (int i = 0; i < n; i++) if (filter.contains(random.nextLong())) falsePositives++;
+    // The bound is p when every layer is full, leave some room for sampling noise
+    assertThat((double) falsePositives / n).isLessThan(1.25 * p);
+  }
+
+  @Test
+  public void testDuplicateAdds() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.001);
+    assertThat(filter.add(42)).isTrue();
+    assertThat(filter.add(42)).isFalse();
+    assertThat(filter.size()).isEqualTo(1L);
+  }
+}
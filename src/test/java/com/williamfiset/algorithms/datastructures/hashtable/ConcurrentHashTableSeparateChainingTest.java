@@ -0,0 +1,130 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.*;
+
+public class ConcurrentHashTableSeparateChainingTest {
+
+  static final Random RANDOM = new Random();
+  static final int THREADS = 8;
+
+  ConcurrentHashTableSeparateChaining<Integer, Integer> map;
+
+  @Before
+  public void setup() {
+    map = new ConcurrentHashTableSeparateChaining<>();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullKey() {
+    map.put(null, 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation1() {
+    new ConcurrentHashTableSeparateChaining<>(-3, 0.5, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation2() {
+    new ConcurrentHashTableSeparateChaining<>(5, Double.POSITIVE_INFINITY, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation3() {
+    new ConcurrentHashTableSeparateChaining<>(5, 0.75, 0);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.add(1, 1)).isNull();
+    assertThat(map.get(1)).isEqualTo(1);
+    assertThat(map.add(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+    assertThat(map.remove(1)).isEqualTo(5);
+    assertThat(map.get(1)).isNull();
+  }
+
+  @Test
+  public void testTableGrows() {
+    ConcurrentHashTableSeparateChaining<Integer, Integer> m =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 2);
+    for (int i = 0; i < 10000; i++) m.put(i, i);
+    assertThat(m.size()).isEqualTo(10000);
+    assertThat(m.getCapacity()).isAtLeast(8192);
+    for (int i = 0; i < 10000; i++) assertThat(m.get(i)).isEqualTo(i);
+  }
+
+  @Test
+  public void testRandomMapOperations() {
+    HashMap<Integer, Integer> jmap = new HashMap<>();
+    for (int loop = 0; loop < 50; loop++) {
+      map.clear();
+      jmap.clear();
+      assertThat(map.isEmpty()).isTrue();
+
+      for (int i = 0; i < 2000; i++) {
+        int key = RANDOM.nextInt(500) - 250;
+        if (RANDOM.nextDouble() < 0.6) {
+          assertThat(map.put(key, i)).isEqualTo(jmap.put(key, i));
+        } else {
+          assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        }
+        assertThat(map.get(key)).isEqualTo(jmap.get(key));
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      assertThat(map.keys()).containsExactlyElementsIn(jmap.keySet());
+      assertThat(map.values()).containsExactlyElementsIn(jmap.values());
+    }
+  }
+
+  @Test
+  public void testConcurrentWritersAndReaders() throws Exception {
+    final int keysPerThread = 20000;
+    ConcurrentHashTableSeparateChaining<Integer, Integer> m =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 4);
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+    AtomicBoolean done = new AtomicBoolean();
+    List<Future<?>> writers = new ArrayList<>();
+
+    // Keys which are never removed must always be visible to readers once
+    // inserted, even while the table is being resized underneath them.
+    for (int i = 0; i < 1000; i++) m.put(-i - 1, i);
+    Future<?> reader =
+        pool.submit(
+            () -> {
+              while (!done.get()) {
+                for (int i = 0; i < 1000; i++) assertThat(m.get(-i - 1)).isEqualTo(i);
+              }
+            });
+
+    for (int t = 0; t < THREADS; t++) {
+      final int offset = t * keysPerThread;
+      writers.add(
+          pool.submit(
+              () -> {
+                for (int i = offset; i < offset + keysPerThread; i++) m.put(i, i);
+                // Remove every odd key again
+                for (int i = offset + 1; i < offset + keysPerThread; i += 2) {
+                  assertThat(m.remove(i)).isEqualTo(i);
+                }
+              }));
+    }
+    for (Future<?> f : writers) f.get();
+    done.set(true);
+    reader.get();
+    pool.shutdown();
+
+    assertThat(m.size()).isEqualTo(1000 + THREADS * keysPerThread / 2);
+    for (int i = 0; i < THREADS * keysPerThread; i++) {
+      if (i % 2 == 0) assertThat(m.get(i)).isEqualTo(i);
+      else assertThat(m.containsKey(i)).isFalse();
+    }
+    assertThat(m.keys().size()).isEqualTo(m.size());
+  }
+}
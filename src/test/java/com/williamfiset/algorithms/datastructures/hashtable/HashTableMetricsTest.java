@@ -0,0 +1,95 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.*;
+
+public class HashTableMetricsTest {
+
+  @Test
+  public void testMetricsDisabledByDefault() {
+    assertThat(new HashTableLinearProbing<Integer, Integer>().getMetrics()).isNull();
+    assertThat(new HashTableSeparateChaining<Integer, Integer>().getMetrics()).isNull();
+  }
+
+  @Test
+  public void testOpenAddressingProbeHistogram() {
+    HashTableLinearProbing<Integer, Integer> map = new HashTableLinearProbing<>();
+    HashTableMetrics metrics = map.enableMetrics();
+    for (int i = 0; i < 100; i++) map.put(i, i);
+    for (int i = 0; i < 100; i++) map.get(i);
+    for (int i = 0; i < 50; i++) map.remove(i);
+
+    long total = 0;
+    for (long count : metrics.getProbeLengthHistogram()) total += count;
+    assertThat(total).isEqualTo(250L);
+    assertThat(metrics.getOperationCount()).isEqualTo(250L);
+    assertThat(metrics.getProbeLengthHistogram()[0]).isEqualTo(0L);
+    assertThat(metrics.getAverageProbeLength()).isAtLeast(1.0);
+    assertThat(metrics.getMaxProbeLength()).isAtLeast(1);
+    assertThat(metrics.getResizeCount()).isGreaterThan(0L);
+    assertThat(metrics.getResizeTimeNanos()).isAtLeast(0L);
+
+    metrics.reset();
+    assertThat(metrics.getOperationCount()).isEqualTo(0L);
+    assertThat(metrics.getResizeCount()).isEqualTo(0L);
+  }
+
+  @Test
+  public void testResizeDoesNotRecordProbes() {
+    HashTableQuadraticProbing<Integer, Integer> map = new HashTableQuadraticProbing<>();
+    HashTableMetrics metrics = map.enableMetrics();
+    for (int i = 0; i < 1000; i++) map.put(i, i);
+    assertThat(metrics.getOperationCount()).isEqualTo(1000L);
+    assertThat(metrics.getResizeCount()).isGreaterThan(1L);
+  }
+
+  @Test
+  public void testTombstoneRatio() {
+    HashTableLinearProbing<Integer, Integer> map = new HashTableLinearProbing<>(64);
+    assertThat(map.getTombstoneRatio()).isEqualTo(0.0);
+    for (int i = 0; i < 10; i++) map.put(i, i);
+    for (int i = 0; i < 5; i++) map.remove(i);
+    assertThat(map.getTombstoneRatio()).isEqualTo(5.0 / map.getCapacity());
+
+    // Robin Hood hashing never leaves tombstones behind
+    HashTableRobinHood<Integer, Integer> rh = new HashTableRobinHood<>(64);
+    for (int i = 0; i < 10; i++) rh.put(i, i);
+    for (int i = 0; i < 5; i++) rh.remove(i);
+    assertThat(rh.getTombstoneRatio()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void testRobinHoodRecordsProbes() {
+    HashTableRobinHood<Integer, Integer> map = new HashTableRobinHood<>();
+    HashTableMetrics metrics = map.enableMetrics();
+    for (int i = 0; i < 100; i++) map.put(i, i);
+    for (int i = 0; i < 100; i++) map.containsKey(i);
+    assertThat(metrics.getOperationCount()).isEqualTo(200L);
+    assertThat(metrics.getResizeCount()).isGreaterThan(0L);
+  }
+
+  @Test
+  public void testSeparateChainingMetrics() {
+    HashTableSeparateChaining<Integer, Integer> map = new HashTableSeparateChaining<>();
+    HashTableMetrics metrics = map.enableMetrics();
+    for (int i = 0; i < 100; i++) map.put(i, i);
+    for (int i = 0; i < 100; i++) map.get(i);
+    assertThat(metrics.getOperationCount()).isEqualTo(200L);
+    assertThat(metrics.getResizeCount()).isGreaterThan(0L);
+
+    int buckets = 0, entries = 0;
+    int[] histogram = map.chainLengthHistogram();
+    for (int len = 0; len < histogram.length; len++) {
+      buckets += histogram[len];
+      entries += len * histogram[len];
+    }
+    assertThat(entries).isEqualTo(100);
+    assertThat(buckets).isGreaterThan(100);
+
+    map.disableMetrics();
+    map.put(1000, 1000);
+    assertThat(metrics.getOperationCount()).isEqualTo(200L);
+    assertThat(map.getMetrics()).isNull();
+  }
+}
@@ -0,0 +1,179 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class PrimitiveHashTableTest {
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 20000;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCapacity() {
+    new IntIntHashTable(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalLoadFactor() {
+    new LongLongHashTable(16, 1.0, ProbingMethod.LINEAR, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullProbingMethod() {
+    new IntObjectHashTable<String>(16, null);
+  }
+
+  @Test
+  public void testNoEntryValue() {
+    IntIntHashTable map = new IntIntHashTable(16, 0.5, ProbingMethod.LINEAR, -1);
+    assertThat(map.get(5)).isEqualTo(-1);
+    assertThat(map.put(5, 7)).isEqualTo(-1);
+    assertThat(map.put(5, 8)).isEqualTo(7);
+    assertThat(map.remove(5)).isEqualTo(8);
+    assertThat(map.remove(5)).isEqualTo(-1);
+    assertThat(map.getOrDefault(5, 42)).isEqualTo(42);
+  }
+
+  @Test
+  public void testAddTo() {
+    IntIntHashTable map = new IntIntHashTable();
+    assertThat(map.addTo(3, 2)).isEqualTo(2);
+    assertThat(map.addTo(3, 5)).isEqualTo(7);
+    assertThat(map.get(3)).isEqualTo(7);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testOverwriteAtThresholdDoesNotResize() {
+    IntIntHashTable ints = new IntIntHashTable(16);
+    LongLongHashTable longs = new LongLongHashTable(16);
+    IntObjectHashTable<String> objects = new IntObjectHashTable<>(16);
+    for (int i = 0; i < 10; i++) {
+      ints.put(i, i);
+      longs.put(i, i);
+      objects.put(i, "a");
+    }
+    for (int i = 0; i < 10; i++) {
+      ints.put(i, -i);
+      ints.addTo(i, 1);
+      longs.put(i, -i);
+      longs.addTo(i, 1);
+      objects.put(i, "b");
+    }
+    assertThat(ints.getCapacity()).isEqualTo(16);
+    assertThat(longs.getCapacity()).isEqualTo(16);
+    assertThat(objects.getCapacity()).isEqualTo(16);
+    assertThat(ints.get(9)).isEqualTo(-8);
+    assertThat(longs.get(9)).isEqualTo(-8L);
+
+    // A new key at the threshold needs an empty bucket so the tables grow
+    ints.addTo(10, 5);
+    longs.put(10, 5);
+    objects.put(10, "c");
+    assertThat(ints.getCapacity()).isEqualTo(32);
+    assertThat(longs.getCapacity()).isEqualTo(32);
+    assertThat(objects.getCapacity()).isEqualTo(32);
+    for (int i = 0; i < 10; i++) assertThat(objects.get(i)).isEqualTo("b");
+    assertThat(ints.get(10)).isEqualTo(5);
+    assertThat(ints.size()).isEqualTo(11);
+  }
+
+  @Test
+  public void testExtremeKeys() {
+    for (ProbingMethod probing : ProbingMethod.values()) {
+      LongLongHashTable map = new LongLongHashTable(1, probing);
+      long[] keys = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 1L << 40};
+      for (int i = 0; i < keys.length; i++) map.put(keys[i], i);
+      for (int i = 0; i < keys.length; i++) assertThat(map.get(keys[i])).isEqualTo(i);
+      assertThat(map.size()).isEqualTo(keys.length);
+    }
+  }
+
+  @Test
+  public void testTombstonesAreReclaimed() {
+    for (ProbingMethod probing : ProbingMethod.values()) {
+      IntIntHashTable map = new IntIntHashTable(64, probing);
+      int capacity = map.getCapacity();
+      // Repeatedly inserting and removing keys fills the table with deleted
+      // cells, which should be purged without growing the table.
+      for (int i = 0; i < 100000; i++) {
+        map.put(i, i);
+        map.remove(i);
+      }
+      assertThat(map.isEmpty()).isTrue();
+      assertThat(map.getCapacity()).isEqualTo(capacity);
+    }
+  }
+
+  @Test
+  public void randomIntIntOperations() {
+    for (ProbingMethod probing : ProbingMethod.values()) {
+      IntIntHashTable map = new IntIntHashTable(1, probing);
+      Map<Integer, Integer> jmap = new HashMap<>();
+      for (int i = 0; i < LOOPS; i++) {
+        int key = RANDOM.nextInt(1000) * 1024;
+        int value = RANDOM.nextInt();
+        if (RANDOM.nextDouble() < 0.6) {
+          Integer expected = jmap.put(key, value);
+          assertThat(map.put(key, value)).isEqualTo(expected == null ? 0 : expected);
+        } else {
+          Integer expected = jmap.remove(key);
+          assertThat(map.remove(key)).isEqualTo(expected == null ? 0 : expected);
+        }
+        assertThat(map.size()).isEqualTo(jmap.size());
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+      }
+      int[] keys = map.keys();
+      assertThat(keys.length).isEqualTo(jmap.size());
+      for (int key : keys) assertThat(map.get(key)).isEqualTo(jmap.get(key));
+    }
+  }
+
+  @Test
+  public void randomLongLongOperations() {
+    for (ProbingMethod probing : ProbingMethod.values()) {
+      LongLongHashTable map = new LongLongHashTable(1, probing);
+      Map<Long, Long> jmap = new HashMap<>();
+      for (int i = 0; i < LOOPS; i++) {
+        long key = RANDOM.nextInt(1000) * (1L << 33);
+        long value = RANDOM.nextLong();
+        if (RANDOM.nextDouble() < 0.6) {
+          Long expected = jmap.put(key, value);
+          assertThat(map.put(key, value)).isEqualTo(expected == null ? 0 : expected);
+        } else {
+          Long expected = jmap.remove(key);
+          assertThat(map.remove(key)).isEqualTo(expected == null ? 0 : expected);
+        }
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      Map<Long, Long> entries = new HashMap<>();
+      map.forEach(entries::put);
+      assertThat(entries).isEqualTo(jmap);
+    }
+  }
+
+  @Test
+  public void randomIntObjectOperations() {
+    for (ProbingMethod probing : ProbingMethod.values()) {
+      IntObjectHashTable<String> map = new IntObjectHashTable<>(1, probing);
+      Map<Integer, String> jmap = new HashMap<>();
+      for (int i = 0; i < LOOPS; i++) {
+        int key = RANDOM.nextInt(1000) - 500;
+        String value = String.valueOf(RANDOM.nextInt());
+        if (RANDOM.nextDouble() < 0.6) {
+          assertThat(map.put(key, value)).isEqualTo(jmap.put(key, value));
+        } else {
+          assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        }
+        assertThat(map.get(key)).isEqualTo(jmap.get(key));
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      assertThat(map.values()).containsExactlyElementsIn(jmap.values());
+      map.clear();
+      assertThat(map.isEmpty()).isTrue();
+      assertThat(map.values()).isEmpty();
+    }
+  }
+}
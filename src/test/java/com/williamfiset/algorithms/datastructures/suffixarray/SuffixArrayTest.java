@@ -2,8 +2,14 @@ package com.williamfiset.algorithms.datastructures.suffixarray;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.*;
 
 public class SuffixArrayTest {
@@ -28,10 +34,12 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(str);
     SuffixArray sa2 = new SuffixArrayMed(str);
     SuffixArray sa3 = new SuffixArrayFast(str);
+    SuffixArray sa4 = new SuffixArraySais(str);
 
     assertThat(sa1.getSa().length).isEqualTo(str.length());
     assertThat(sa2.getSa().length).isEqualTo(str.length());
     assertThat(sa3.getSa().length).isEqualTo(str.length());
+    assertThat(sa4.getSa().length).isEqualTo(str.length());
   }
 
   @Test
@@ -40,8 +48,9 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(ASCII_LETTERS);
     SuffixArray sa2 = new SuffixArrayMed(ASCII_LETTERS);
     SuffixArray sa3 = new SuffixArrayFast(ASCII_LETTERS);
+    SuffixArray sa4 = new SuffixArraySais(ASCII_LETTERS);
 
-    SuffixArray[] suffixArrays = {sa1, sa2, sa3};
+    SuffixArray[] suffixArrays = {sa1, sa2, sa3, sa4};
 
     for (SuffixArray sa : suffixArrays) {
       for (int i = 0; i < sa.getSa().length; i++) {
@@ -58,8 +67,9 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(UNIQUE_CHARS);
     SuffixArray sa2 = new SuffixArrayMed(UNIQUE_CHARS);
     SuffixArray sa3 = new SuffixArrayFast(UNIQUE_CHARS);
+    SuffixArray sa4 = new SuffixArraySais(UNIQUE_CHARS);
 
-    SuffixArray[] suffixArrays = {sa1, sa2, sa3};
+    SuffixArray[] suffixArrays = {sa1, sa2, sa3, sa4};
 
     for (SuffixArray sa : suffixArrays) {
       for (int i = 0; i < sa.getSa().length; i++) {
@@ -77,8 +87,9 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(text);
     SuffixArray sa2 = new SuffixArrayMed(text);
     SuffixArray sa3 = new SuffixArrayFast(text);
+    SuffixArray sa4 = new SuffixArraySais(text);
 
-    SuffixArray[] suffixArrays = {sa1, sa2, sa3};
+    SuffixArray[] suffixArrays = {sa1, sa2, sa3, sa4};
 
     for (SuffixArray sa : suffixArrays) {
       for (int i = 0; i < sa.getSa().length; i++) {
@@ -95,8 +106,9 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(text);
     SuffixArray sa2 = new SuffixArrayMed(text);
     SuffixArray sa3 = new SuffixArrayFast(text);
+    SuffixArray sa4 = new SuffixArraySais(text);
 
-    SuffixArray[] suffixArrays = {sa1, sa2, sa3};
+    SuffixArray[] suffixArrays = {sa1, sa2, sa3, sa4};
 
     for (SuffixArray sa : suffixArrays) {
       for (int i = 0; i < sa.getSa().length; i++) {
@@ -114,7 +126,8 @@ public class SuffixArrayTest {
     SuffixArray sa1 = new SuffixArraySlow(text);
     SuffixArray sa2 = new SuffixArrayMed(text);
     SuffixArray sa3 = new SuffixArrayFast(text);
-    SuffixArray[] suffixArrays = {sa1, sa2, sa3};
+    SuffixArray sa4 = new SuffixArraySais(text);
+    SuffixArray[] suffixArrays = {sa1, sa2, sa3, sa4};
 
     for (int i = 0; i < suffixArrays.length; i++) {
       for (int j = i + 1; j < suffixArrays.length; j++) {
@@ -126,4 +139,166 @@ public class SuffixArrayTest {
       }
     }
   }
+
+  @Test
+  public void saisMatchesFastOnRandomTexts() {
+    for (int alphabetSize : new int[] {1, 2, 4, 26, 256}) {
+      for (int n = 0; n < 300; n += 1 + n / 10) {
+        int[] text = new int[n];
+        for (int i = 0; i < n; i++) text[i] = rand.nextInt(alphabetSize);
+        int[] expected = new SuffixArrayFast(text.clone(), Math.max(alphabetSize, 2)).getSa();
+        SuffixArray sais = new SuffixArraySais(text, alphabetSize);
+        assertThat(sais.getSa()).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void saisRepetitiveTexts() {
+    // Periodic texts have many equal LMS substrings and so exercise the recursion
+    String[] texts = {"ABABABABABABABABABABABABAB", "AABAABAABAABAABAABAABAABAAB", "MISSISSIPPI"};
+    for (String text : texts) {
+      for (int reps = 1; reps <= 20; reps++) {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < reps; r++) sb.append(text);
+        String str = sb.toString();
+        assertThat(new SuffixArraySais(str).getSa()).isEqualTo(new SuffixArraySlow(str).getSa());
+        assertThat(new SuffixArraySais(str).getLcpArray())
+            .isEqualTo(new SuffixArraySlow(str).getLcpArray());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void saisRejectsValuesOutsideAlphabet() {
+    new SuffixArraySais(new int[] {0, 1, 2}, 2);
+  }
+
+  @Test
+  public void phiLcpMatchesKasai() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int alphabetSize : new int[] {1, 2, 4, 26}) {
+        for (int n = 0; n < 500; n += 1 + n / 5) {
+          int[] text = new int[n];
+          for (int i = 0; i < n; i++) text[i] = 'a' + rand.nextInt(alphabetSize);
+          int[] sa = new SuffixArraySais(text).getSa();
+          int[] expected = LcpBuilder.kasai(text, sa);
+          assertThat(LcpBuilder.lcp(text, sa)).isEqualTo(expected);
+          for (int parts = 1; parts <= 8; parts++) {
+            assertThat(LcpBuilder.lcp(text, sa, pool, parts)).isEqualTo(expected);
+          }
+          assertThat(new SuffixArrayFast(text).getLcpArray(pool, 3)).isEqualTo(expected);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void compressedLcpArray() {
+    for (int alphabetSize : new int[] {1, 2, 4, 26}) {
+      for (int n = 0; n < 2000; n += 1 + n / 3) {
+        int[] text = new int[n];
+        for (int i = 0; i < n; i++) text[i] = 'a' + rand.nextInt(alphabetSize);
+        SuffixArray sa = new SuffixArraySais(text);
+        CompressedLcpArray compressed = sa.getCompressedLcpArray();
+        int[] lcp = sa.getLcpArray();
+        assertThat(compressed.length()).isEqualTo(n);
+        for (int k = 0; k < n; k++) assertThat(compressed.get(k)).isEqualTo(lcp[k]);
+        assertThat(compressed.toArray()).isEqualTo(lcp);
+        // Also built from an existing LCP array
+        assertThat(sa.getCompressedLcpArray().toArray()).isEqualTo(lcp);
+      }
+    }
+  }
+
+  @Test
+  public void compressedLcpArrayIsSmall() {
+    int n = 100000;
+    int[] text = new int[n];
+    for (int i = 0; i < n; i++) text[i] = 'a' + rand.nextInt(4);
+    CompressedLcpArray compressed = new SuffixArraySais(text).getCompressedLcpArray();
+    assertThat(compressed.sizeInBytes()).isLessThan(n / 3L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compressedLcpArrayRejectsInvalidInput() {
+    new CompressedLcpArray(new int[] {0, 1, 2}, new int[] {2, 0, 0});
+  }
+
+  @Test
+  public void mappedSuffixArrayIndex() throws IOException {
+    for (int alphabetSize : new int[] {1, 2, 4, 26}) {
+      for (int n : new int[] {0, 1, 7, 100, 3000}) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) sb.append((char) ('a' + rand.nextInt(alphabetSize)));
+        String text = sb.toString();
+
+        Path file = Files.createTempFile("suffixarray", ".idx");
+        try {
+          MappedSuffixArrayIndex.write(new SuffixArraySais(text), file);
+          MappedSuffixArrayIndex index = MappedSuffixArrayIndex.open(file);
+          assertThat(index.getTextLength()).isEqualTo(n);
+          for (int l = 0; l < 200; l++) {
+            String pattern;
+            if (n > 0 && rand.nextBoolean()) {
+              int i = rand.nextInt(n);
+              pattern = text.substring(i, Math.min(n, i + 1 + rand.nextInt(8)));
+            } else {
+              StringBuilder p = new StringBuilder();
+              for (int i = rand.nextInt(6); i > 0; i--) {
+                p.append((char) ('a' + rand.nextInt(alphabetSize + 1)));
+              }
+              pattern = p.toString();
+            }
+            int[] expected = occurrences(text, pattern);
+            assertThat(index.locate(pattern)).isEqualTo(expected);
+            assertThat(index.countOccurrences(pattern)).isEqualTo(expected.length);
+            assertThat(index.contains(pattern)).isEqualTo(expected.length > 0);
+          }
+        } finally {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void mappedSuffixArrayIndexManyOccurrences() throws IOException {
+    // Enough occurrences to go past the LCP scan and use a second binary search
+    String text = "abcab";
+    for (int i = 0; i < 10; i++) text += text;
+    Path file = Files.createTempFile("suffixarray", ".idx");
+    try {
+      MappedSuffixArrayIndex.write(new SuffixArraySais(text), file);
+      MappedSuffixArrayIndex index = MappedSuffixArrayIndex.open(file);
+      for (String pattern : new String[] {"a", "ab", "bca", "cabab", "abcabcab", "ba", "\u0100"}) {
+        assertThat(index.locate(pattern)).isEqualTo(occurrences(text, pattern));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void mappedSuffixArrayIndexRejectsOtherFiles() throws IOException {
+    Path file = Files.createTempFile("suffixarray", ".idx");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+      MappedSuffixArrayIndex.open(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  // Returns the starting positions of the pattern in the text (all positions for the empty pattern)
+  private static int[] occurrences(String text, String pattern) {
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < text.length(); i++) if (text.startsWith(pattern, i)) positions.add(i);
+    int[] result = new int[positions.size()];
+    for (int i = 0; i < result.length; i++) result[i] = positions.get(i);
+    return result;
+  }
 }
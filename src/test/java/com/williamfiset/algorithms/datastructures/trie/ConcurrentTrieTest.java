@@ -0,0 +1,79 @@
+package com.williamfiset.algorithms.datastructures.trie;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.*;
+
+public class ConcurrentTrieTest {
+
+  static final int THREADS = 8;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadInsert() {
+    new ConcurrentTrie().insert("abc", 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadCount() {
+    new ConcurrentTrie().count(null);
+  }
+
+  @Test
+  public void testMatchesTrie() {
+    Random random = new Random();
+    Trie expected = new Trie();
+    ConcurrentTrie trie = new ConcurrentTrie();
+    for (int i = 0; i < 2000; i++) {
+      String key = Integer.toString(random.nextInt(5000), 3);
+      int times = 1 + random.nextInt(3);
+      assertThat(trie.insert(key, times)).isEqualTo(expected.insert(key, times));
+    }
+    for (int i = 0; i < 5000; i++) {
+      String key = Integer.toString(i, 3);
+      assertThat(trie.count(key)).isEqualTo(expected.count(key));
+      assertThat(trie.contains(key)).isEqualTo(expected.contains(key));
+    }
+    assertThat(trie.count("")).isEqualTo(0);
+    assertThat(trie.isWord("")).isFalse();
+  }
+
+  // All threads insert the same words at the same time, racing to create the same nodes. A lost
+  // child or count update shows up as a wrong count.
+  @Test
+  public void testConcurrentInserts() throws Exception {
+    final int words = 3000;
+    final ConcurrentTrie trie = new ConcurrentTrie();
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int offset = t;
+      futures.add(
+          pool.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < words; i++) {
+                  trie.insert(Integer.toString((i + offset * 101) % words, 4));
+                  // Reads run concurrently with the inserts
+                  trie.contains(Integer.toString(i, 4));
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> f : futures) f.get();
+    pool.shutdown();
+
+    Trie expected = new Trie();
+    for (int t = 0; t < THREADS; t++) {
+      for (int i = 0; i < words; i++) expected.insert(Integer.toString(i, 4));
+    }
+    for (int i = 0; i < 4 * words; i++) {
+      String key = Integer.toString(i, 4);
+      assertThat(trie.count(key)).isEqualTo(expected.count(key));
+      assertThat(trie.isWord(key)).isEqualTo(i < words);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.williamfiset.algorithms.datastructures.trie;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.*;
+
+public class DoubleArrayTrieTest {
+
+  static final Random rand = new Random();
+
+  static String randomString(int maxLength, int alphabetSize) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = rand.nextInt(maxLength + 1); i > 0; i--) {
+      sb.append((char) ('a' + rand.nextInt(alphabetSize)));
+    }
+    return sb.toString();
+  }
+
+  static List<String> toList(Iterator<String> it) {
+    List<String> list = new ArrayList<>();
+    while (it.hasNext()) list.add(it.next());
+    return list;
+  }
+
+  @Test
+  public void testSmallTrie() {
+    Trie trie = new Trie();
+    for (String s : new String[] {"car", "cart", "cat", "dog", "do", "car"}) trie.insert(s);
+    DoubleArrayTrie dat = new DoubleArrayTrie(trie);
+
+    assertThat(dat.count("car")).isEqualTo(3);
+    assertThat(dat.count("ca")).isEqualTo(4);
+    assertThat(dat.count("do")).isEqualTo(2);
+    assertThat(dat.count("")).isEqualTo(0);
+    assertThat(dat.count("cars")).isEqualTo(0);
+    assertThat(dat.count("x")).isEqualTo(0);
+    assertThat(dat.contains("ca")).isTrue();
+    assertThat(dat.contains("cb")).isFalse();
+    assertThat(dat.isWord("ca")).isFalse();
+    assertThat(dat.isWord("cart")).isTrue();
+    assertThat(dat.getStateCount()).isEqualTo(9);
+
+    assertThat(toList(dat.wordsWithPrefix("")))
+        .containsExactly("car", "cart", "cat", "do", "dog")
+        .inOrder();
+    assertThat(toList(dat.wordsWithPrefix("car"))).containsExactly("car", "cart").inOrder();
+    assertThat(toList(dat.wordsWithPrefix("dox"))).isEmpty();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullKey() {
+    new DoubleArrayTrie(new Trie()).count(null);
+  }
+
+  @Test
+  public void testMatchesTrie() {
+    for (int loop = 0; loop < 50; loop++) {
+      int alphabetSize = 1 + rand.nextInt(26);
+      Trie trie = new Trie();
+      TreeSet<String> words = new TreeSet<>();
+      for (int i = rand.nextInt(300); i > 0; i--) {
+        String word = randomString(8, alphabetSize);
+        trie.insert(word, 1 + rand.nextInt(3));
+        if (!word.isEmpty()) words.add(word);
+      }
+      DoubleArrayTrie dat = new DoubleArrayTrie(trie);
+
+      for (int i = 0; i < 500; i++) {
+        String key = randomString(6, alphabetSize + 1);
+        assertThat(dat.count(key)).isEqualTo(trie.count(key));
+        assertThat(dat.contains(key)).isEqualTo(trie.contains(key));
+        assertThat(dat.isWord(key)).isEqualTo(words.contains(key));
+
+        List<String> expected = new ArrayList<>();
+        for (String word : words.tailSet(key)) {
+          if (!word.startsWith(key)) break;
+          expected.add(word);
+        }
+        assertThat(toList(dat.wordsWithPrefix(key))).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testAfterDeletions() {
+    Trie trie = new Trie();
+    trie.insert("apple", 3);
+    trie.insert("apply");
+    trie.insert("banana");
+    trie.delete("apple", 2);
+    trie.delete("banana");
+    DoubleArrayTrie dat = new DoubleArrayTrie(trie);
+    assertThat(dat.count("app")).isEqualTo(trie.count("app"));
+    assertThat(dat.count("apple")).isEqualTo(1);
+    assertThat(dat.contains("banana")).isFalse();
+    assertThat(toList(dat.wordsWithPrefix("a"))).containsExactly("apple", "apply").inOrder();
+  }
+
+  @Test
+  public void testUnicodeAndSize() {
+    Trie trie = new Trie();
+    for (int i = 0; i < 5000; i++) trie.insert(Integer.toString(i * 7919, 36) + "é中");
+    DoubleArrayTrie dat = new DoubleArrayTrie(trie);
+    for (int i = 0; i < 5000; i++) {
+      assertThat(dat.isWord(Integer.toString(i * 7919, 36) + "é中")).isTrue();
+    }
+    assertThat(dat.sizeInBytes()).isLessThan(20L * dat.getStateCount());
+  }
+}
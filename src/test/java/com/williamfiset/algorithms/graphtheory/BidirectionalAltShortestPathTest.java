@@ -0,0 +1,88 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.gridGraph;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.randomGraph;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+public class BidirectionalAltShortestPathTest {
+
+  // Checks the distance and that the path is made of edges adding up to it
+  private static void check(CsrGraph graph, BidirectionalAltShortestPath solver, int s, int t) {
+    double expected = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, s, t);
+    assertThat(solver.distance(s, t)).isEqualTo(expected);
+    List<Integer> path = solver.shortestPath(s, t);
+    if (expected == Double.POSITIVE_INFINITY) {
+      assertThat(path).isEmpty();
+      return;
+    }
+    assertThat(path.get(0)).isEqualTo(s);
+    assertThat(path.get(path.size() - 1)).isEqualTo(t);
+    double length = 0;
+    for (int i = 0; i + 1 < path.size(); i++) {
+      int u = path.get(i), v = path.get(i + 1);
+      double cheapest = Double.POSITIVE_INFINITY;
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        if (graph.target(e) == v) cheapest = Math.min(cheapest, graph.weight(e));
+      }
+      length += cheapest;
+    }
+    assertThat(length).isEqualTo(expected);
+  }
+
+  @Test
+  public void testRandomDirectedGraphs() {
+    for (int landmarks : new int[] {0, 1, 4}) {
+      CsrGraph graph = randomGraph(200, 500, true, landmarks);
+      BidirectionalAltShortestPath solver = new BidirectionalAltShortestPath(graph, landmarks);
+      assertThat(solver.getLandmarks().length).isEqualTo(landmarks);
+      Random random = new Random(7);
+      for (int q = 0; q < 300; q++) check(graph, solver, random.nextInt(200), random.nextInt(200));
+    }
+  }
+
+  @Test
+  public void testDisconnectedGraph() {
+    CsrGraph graph =
+        new CsrGraph.Builder(6)
+            .addDirectedEdge(0, 1, 1)
+            .addDirectedEdge(1, 2, 1)
+            .addDirectedEdge(3, 4, 2)
+            .addDirectedEdge(4, 3, 2)
+            .build();
+    BidirectionalAltShortestPath solver = new BidirectionalAltShortestPath(graph, new int[] {2, 4});
+    for (int s = 0; s < 6; s++) for (int t = 0; t < 6; t++) check(graph, solver, s, t);
+    assertThat(solver.shortestPath(5, 5)).containsExactly(5);
+  }
+
+  @Test
+  public void testLandmarksScanFewerNodes() {
+    CsrGraph graph = gridGraph(60, 1);
+    BidirectionalAltShortestPath plain = new BidirectionalAltShortestPath(graph);
+    BidirectionalAltShortestPath alt = new BidirectionalAltShortestPath(graph, 8);
+    Random random = new Random(3);
+    long plainScanned = 0, altScanned = 0;
+    for (int q = 0; q < 100; q++) {
+      int s = random.nextInt(3600), t = random.nextInt(3600);
+      check(graph, plain, s, t);
+      plainScanned += plain.getScannedNodeCount();
+      check(graph, alt, s, t);
+      altScanned += alt.getScannedNodeCount();
+    }
+    assertThat(altScanned).isLessThan(plainScanned / 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeWeight() {
+    new BidirectionalAltShortestPath(new CsrGraph.Builder(2).addDirectedEdge(0, 1, -1).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyLandmarks() {
+    new BidirectionalAltShortestPath(randomGraph(5, 10, true, 1), 6);
+  }
+}
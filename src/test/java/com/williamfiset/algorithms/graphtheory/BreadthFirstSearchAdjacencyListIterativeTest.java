@@ -7,6 +7,7 @@ import static com.williamfiset.algorithms.graphtheory.BreadthFirstSearchAdjacenc
 import static java.lang.Math.max;
 import static java.lang.Math.random;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -89,6 +90,32 @@ public class BreadthFirstSearchAdjacencyListIterativeTest {
     }
   }
 
+  @Test
+  public void testCsrGraphMatchesAdjacencyList() {
+    for (int n = 1; n < 60; n++) {
+      List<List<Edge>> graph = createEmptyGraph(n);
+      generateRandomGraph(graph, n);
+      CsrGraph.Builder builder = new CsrGraph.Builder(n);
+      for (List<Edge> edges : graph) {
+        for (Edge edge : edges) builder.addDirectedEdge(edge.from, edge.to);
+      }
+      CsrGraph csr = builder.build();
+
+      int s = (int) (random() * n);
+      solver = new BreadthFirstSearchAdjacencyListIterative(graph);
+      int[] prev = new int[n];
+      int[] dist = BreadthFirstSearchAdjacencyListIterative.bfs(csr, s, prev);
+      for (int e = 0; e < n; e++) {
+        List<Integer> path = solver.reconstructPath(s, e);
+        // Edges are visited in the same order, so the same BFS tree is found
+        assertThat(BreadthFirstSearchAdjacencyListIterative.reconstructPath(csr, s, e))
+            .isEqualTo(path);
+        assertThat(dist[e]).isEqualTo(path.size() - 1);
+      }
+      assertThat(prev[s]).isEqualTo(-1);
+    }
+  }
+
   public static double[][] generateRandomGraph(List<List<Edge>> graph1, int n) {
     boolean[][] edgeMatrix = new boolean[n][n];
     double[][] graph2 = new double[n][n];
@@ -107,4 +134,16 @@ public class BreadthFirstSearchAdjacencyListIterativeTest {
 
     return graph2;
   }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCsrInvalidStart() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[0], new int[0]);
+    BreadthFirstSearchAdjacencyListIterative.bfs(graph, 2, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCsrPrevTooShort() {
+    CsrGraph graph = CsrGraph.fromEdges(3, new int[] {0}, new int[] {1});
+    BreadthFirstSearchAdjacencyListIterative.bfs(graph, 0, new int[2]);
+  }
 }
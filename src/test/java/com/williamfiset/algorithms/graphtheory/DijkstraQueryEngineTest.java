@@ -0,0 +1,119 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.POOL;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.randomGraph;
+import static org.junit.Assume.assumeTrue;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Random;
+import org.junit.*;
+
+public class DijkstraQueryEngineTest {
+
+  @Test
+  public void testPointToPointMatchesDijkstra() {
+    CsrGraph graph = randomGraph(500, 2500, true, 1);
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(graph, POOL);
+    Random random = new Random(2);
+    for (int q = 0; q < 300; q++) {
+      int s = random.nextInt(500), t = random.nextInt(500);
+      double expected = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, s, t);
+      assertThat(engine.distance(s, t)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testOneToManyAndAll() {
+    CsrGraph graph = randomGraph(300, 900, true, 3);
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(graph, POOL);
+    for (int s = 0; s < 20; s++) {
+      double[] expected = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, s, null);
+      assertThat(engine.distances(s, null)).isEqualTo(expected);
+      int[] targets = {7, s, 299, 7};
+      double[] dist = engine.distances(s, targets);
+      for (int i = 0; i < targets.length; i++) assertThat(dist[i]).isEqualTo(expected[targets[i]]);
+    }
+  }
+
+  @Test
+  public void testParallelBatches() {
+    CsrGraph graph = randomGraph(2000, 8000, true, 4);
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(graph, POOL);
+    Random random = new Random(5);
+    int[] sources = new int[500], targets = new int[500];
+    for (int i = 0; i < sources.length; i++) {
+      sources[i] = random.nextInt(2000);
+      targets[i] = random.nextInt(2000);
+    }
+    double[] dist = engine.distances(sources, targets);
+    double[][] matrix = engine.distanceMatrix(sources, new int[] {0, 1999});
+    for (int i = 0; i < sources.length; i++) {
+      double[] expected =
+          DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, sources[i], null);
+      assertThat(dist[i]).isEqualTo(expected[targets[i]]);
+      assertThat(matrix[i][0]).isEqualTo(expected[0]);
+      assertThat(matrix[i][1]).isEqualTo(expected[1999]);
+    }
+  }
+
+  @Test
+  public void testShortestPath() {
+    CsrGraph graph =
+        new CsrGraph.Builder(5)
+            .addDirectedEdge(0, 1, 4)
+            .addDirectedEdge(0, 2, 1)
+            .addDirectedEdge(2, 1, 2)
+            .addDirectedEdge(1, 3, 1)
+            .build();
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(graph);
+    List<Integer> path = engine.shortestPath(0, 3);
+    assertThat(path).containsExactly(0, 2, 1, 3).inOrder();
+    assertThat(engine.distance(0, 3)).isEqualTo(4.0);
+    assertThat(engine.shortestPath(0, 4)).isEmpty();
+    assertThat(engine.distance(0, 4)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(engine.shortestPath(3, 3)).containsExactly(3);
+  }
+
+  // The workspaces left behind in the threads which ran queries must not keep the engine alive
+  @Test
+  public void testDroppedEngineIsCollected() throws InterruptedException {
+    // System.gc() is only a hint (and -XX:+DisableExplicitGC ignores it), so a plain object which
+    // is older than the engine tells whether a collection which could free the engine happened
+    WeakReference<Object> canary = new WeakReference<>(new Object());
+    WeakReference<DijkstraQueryEngine> ref = runQueriesAndDrop(randomGraph(1000, 4000, true, 7));
+    for (int i = 0; i < 50 && (ref.get() != null || canary.get() != null); i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+    assumeTrue("No garbage collection happened", canary.get() == null);
+    assertThat(ref.get()).isNull();
+  }
+
+  private static WeakReference<DijkstraQueryEngine> runQueriesAndDrop(CsrGraph graph) {
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(graph, POOL);
+    engine.distance(0, 999);
+    engine.distanceMatrix(new int[] {0, 1, 2, 3, 4, 5, 6, 7}, new int[] {999});
+    return new WeakReference<>(engine);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testClosedEngine() {
+    DijkstraQueryEngine engine = new DijkstraQueryEngine(randomGraph(10, 20, true, 8), POOL);
+    engine.distance(0, 9);
+    engine.close();
+    engine.distance(0, 9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeWeight() {
+    new DijkstraQueryEngine(new CsrGraph.Builder(2).addDirectedEdge(0, 1, -1).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    new DijkstraQueryEngine(randomGraph(10, 20, true, 6)).distance(0, 10);
+  }
+}
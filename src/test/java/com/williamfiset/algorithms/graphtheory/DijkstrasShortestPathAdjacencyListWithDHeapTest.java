@@ -0,0 +1,48 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import org.junit.*;
+
+public class DijkstrasShortestPathAdjacencyListWithDHeapTest {
+
+  @Test
+  public void csrGraphMatchesAdjacencyList() {
+    Random random = new Random();
+    for (int n = 1; n < 50; n++) {
+      DijkstrasShortestPathAdjacencyListWithDHeap solver =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(n);
+      CsrGraph.Builder builder = new CsrGraph.Builder(n);
+      for (int i = random.nextInt(4 * n); i >= 0; i--) {
+        int u = random.nextInt(n), v = random.nextInt(n), cost = random.nextInt(20);
+        solver.addEdge(u, v, cost);
+        builder.addDirectedEdge(u, v, cost);
+      }
+      CsrGraph graph = builder.build();
+
+      int start = random.nextInt(n);
+      int[] prev = new int[n];
+      double[] dist = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, start, prev);
+      for (int end = 0; end < n; end++) {
+        double expected = solver.dijkstra(start, end);
+        assertThat(dist[end]).isEqualTo(expected);
+        assertThat(DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, start, end))
+            .isEqualTo(expected);
+        // Following prev back to the start adds up to the distance
+        if (expected != Double.POSITIVE_INFINITY) {
+          double length = 0;
+          for (int at = end; at != start; at = prev[at]) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = graph.start(prev[at]); e < graph.end(prev[at]); e++) {
+              if (graph.target(e) == at) best = Math.min(best, graph.weight(e));
+            }
+            length += best;
+          }
+          assertThat(length).isEqualTo(expected);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.POOL;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.randomGraph;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.randomUndirectedGraph;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import org.junit.*;
+
+public class DirectionOptimizingBreadthFirstSearchTest {
+
+  // Checks the distances against the sequential search and that prev is a shortest path tree
+  private static void check(CsrGraph graph, DirectionOptimizingBreadthFirstSearch search, int s) {
+    final int n = graph.numNodes();
+    int[] expected = BreadthFirstSearchAdjacencyListIterative.bfs(graph, s, null);
+    int[] prev = new int[n];
+    int[] dist = search.bfs(s, prev);
+    assertThat(dist).isEqualTo(expected);
+    for (int v = 0; v < n; v++) {
+      if (v == s || dist[v] == -1) {
+        assertThat(prev[v]).isEqualTo(-1);
+        continue;
+      }
+      int u = prev[v];
+      assertThat(dist[u]).isEqualTo(dist[v] - 1);
+      boolean hasEdge = false;
+      for (int e = graph.start(u); e < graph.end(u); e++) hasEdge |= graph.target(e) == v;
+      assertThat(hasEdge).isTrue();
+    }
+  }
+
+  @Test
+  public void testSmallGraph() {
+    CsrGraph graph =
+        new CsrGraph.Builder(6)
+            .addDirectedEdge(0, 1)
+            .addDirectedEdge(0, 2)
+            .addDirectedEdge(2, 3)
+            .addDirectedEdge(3, 0)
+            .addDirectedEdge(5, 4)
+            .build();
+    DirectionOptimizingBreadthFirstSearch search = new DirectionOptimizingBreadthFirstSearch(graph);
+    assertThat(search.bfs(0, null)).isEqualTo(new int[] {0, 1, 1, 2, -1, -1});
+    for (int s = 0; s < 6; s++) check(graph, search, s);
+  }
+
+  @Test
+  public void testLargeDirectedGraph() {
+    CsrGraph graph = randomGraph(100_000, 800_000, false, 1);
+    DirectionOptimizingBreadthFirstSearch search =
+        new DirectionOptimizingBreadthFirstSearch(graph, graph.transpose(), POOL, 0);
+    for (int s = 0; s < 3; s++) check(graph, search, s);
+  }
+
+  @Test
+  public void testLargeUndirectedGraphIsItsOwnReverse() {
+    CsrGraph graph = randomUndirectedGraph(100_000, 400_000, 2);
+    DirectionOptimizingBreadthFirstSearch search =
+        new DirectionOptimizingBreadthFirstSearch(graph, graph, POOL, 0);
+    for (int s = 0; s < 3; s++) check(graph, search, s);
+  }
+
+  @Test
+  public void testLongPath() {
+    final int n = 50_000;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addUndirectedEdge(i, i + 1);
+    CsrGraph graph = builder.build();
+    DirectionOptimizingBreadthFirstSearch search =
+        new DirectionOptimizingBreadthFirstSearch(graph, graph, POOL, 3);
+    check(graph, search, 0);
+    check(graph, search, n / 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedReverse() {
+    CsrGraph graph = randomGraph(10, 20, false, 3);
+    new DirectionOptimizingBreadthFirstSearch(graph, randomGraph(10, 19, false, 3), POOL, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidStart() {
+    new DirectionOptimizingBreadthFirstSearch(randomGraph(10, 20, false, 4)).bfs(10, null);
+  }
+}
@@ -2,6 +2,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
 import com.williamfiset.algorithms.utils.graphutils.Utils;
 import java.util.*;
@@ -79,4 +80,20 @@ public class KahnsTest {
       assertThat(isTopsortOrdering(g, order)).isEqualTo(true);
     }
   }
+
+  @Test
+  public void csrGraphMatchesAdjacencyList() {
+    for (double p = 0.7; p <= 1.0; p += 0.02) {
+      GraphGenerator.DagGenerator dagGen = new GraphGenerator.DagGenerator(2, 20, 4, 15, p);
+      List<List<Integer>> g = dagGen.createDag();
+      Kahns solver = new Kahns();
+      assertThat(solver.kahns(CsrGraph.fromAdjacencyList(g))).isEqualTo(solver.kahns(g));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void cycleInCsrGraph() {
+    CsrGraph g = CsrGraph.fromEdges(3, new int[] {0, 1, 2}, new int[] {1, 2, 1});
+    new Kahns().kahns(g);
+  }
 }
@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -238,4 +239,35 @@ public class TarjanSccSolverAdjacencyListTest {
     }
     return true;
   }
+
+  @Test
+  public void csrGraphMatchesAdjacencyList() {
+    Random random = new Random();
+    for (int n = 1; n < 100; n++) {
+      List<List<Integer>> g = createGraph(n);
+      for (int i = random.nextInt(2 * n); i >= 0; i--) {
+        addEdge(g, random.nextInt(n), random.nextInt(n));
+      }
+      TarjanSccSolverAdjacencyList expected = new TarjanSccSolverAdjacencyList(g);
+      TarjanSccSolverAdjacencyList solver =
+          TarjanSccSolverAdjacencyList.fromCsrGraph(CsrGraph.fromAdjacencyList(g));
+      assertThat(solver.sccCount()).isEqualTo(expected.sccCount());
+      // Components are found in the same order, so they get the same ids
+      assertThat(solver.getSccs()).isEqualTo(expected.getSccs());
+    }
+  }
+
+  // The iterative solver handles paths longer than the call stack allows
+  @Test
+  public void longCsrPath() {
+    int n = 200000;
+    int[] from = new int[n], to = new int[n];
+    for (int i = 0; i < n; i++) {
+      from[i] = i;
+      to[i] = (i + 1) % n;
+    }
+    TarjanSccSolverAdjacencyList solver =
+        TarjanSccSolverAdjacencyList.fromCsrGraph(CsrGraph.fromEdges(n, from, to));
+    assertThat(solver.sccCount()).isEqualTo(1);
+  }
 }
@@ -0,0 +1,109 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class LsdRadixSortTest {
+  static Random random = new Random();
+
+  @Test
+  public void sortFullIntegerRange() {
+    for (int size = 0; size < 1000; size++) {
+      int[] values = random.ints(size).toArray();
+      int[] copy = values.clone();
+
+      Arrays.sort(values);
+      LsdRadixSort.lsdRadixSort(copy);
+
+      assertThat(copy).isEqualTo(values);
+    }
+  }
+
+  @Test
+  public void sortIntegerExtremes() {
+    int[] values = {Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE, 1, Integer.MIN_VALUE + 1, -256};
+    int[] copy = values.clone();
+
+    Arrays.sort(values);
+    LsdRadixSort.lsdRadixSort(copy);
+
+    assertThat(copy).isEqualTo(values);
+  }
+
+  @Test
+  public void sortFullLongRange() {
+    for (int size = 0; size < 1000; size++) {
+      long[] values = random.longs(size).toArray();
+      long[] copy = values.clone();
+
+      Arrays.sort(values);
+      LsdRadixSort.lsdRadixSort(copy);
+
+      assertThat(copy).isEqualTo(values);
+    }
+  }
+
+  @Test
+  public void sortLongExtremes() {
+    long[] values = {Long.MAX_VALUE, 0, -1, Long.MIN_VALUE, 1, Long.MIN_VALUE + 1, -256};
+    long[] copy = values.clone();
+
+    Arrays.sort(values);
+    LsdRadixSort.lsdRadixSort(copy);
+
+    assertThat(copy).isEqualTo(values);
+  }
+
+  @Test
+  public void sortLongTimestamps() {
+    // Timestamps share their upper bytes so most passes should be skipped
+    long base = 1600000000000L;
+    for (int size = 0; size < 1000; size++) {
+      long[] values = TestUtils.randomLongArray(size, base, base + 1000000);
+      long[] copy = values.clone();
+
+      Arrays.sort(values);
+      LsdRadixSort.lsdRadixSort(copy);
+
+      assertThat(copy).isEqualTo(values);
+    }
+  }
+
+  @Test
+  public void sortWithReusedBuffer() {
+    int[] buffer = new int[500];
+    long[] longBuffer = new long[500];
+    for (int size = 0; size <= 500; size += 10) {
+      int[] values = TestUtils.randomIntegerArray(size, -1000, 1000);
+      long[] longValues = TestUtils.randomLongArray(size, -1000, 1000);
+      int[] copy = values.clone();
+      long[] longCopy = longValues.clone();
+
+      Arrays.sort(values);
+      Arrays.sort(longValues);
+      LsdRadixSort.lsdRadixSort(copy, buffer);
+      LsdRadixSort.lsdRadixSort(longCopy, longBuffer);
+
+      assertThat(copy).isEqualTo(values);
+      assertThat(longCopy).isEqualTo(longValues);
+    }
+  }
+
+  @Test
+  public void sortAllEqualValues() {
+    int[] values = new int[100];
+    Arrays.fill(values, -7);
+    int[] copy = values.clone();
+    LsdRadixSort.lsdRadixSort(copy);
+    assertThat(copy).isEqualTo(values);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bufferTooSmall() {
+    LsdRadixSort.lsdRadixSort(new int[] {3, 2, 1}, new int[2]);
+  }
+}
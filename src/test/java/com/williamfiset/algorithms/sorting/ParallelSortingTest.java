@@ -0,0 +1,87 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class ParallelSortingTest {
+
+  static final int[] CUTOFFS = {1, 2, 7, 64, 1 << 13};
+
+  @Test
+  public void parallelMergeSort_randomValues() {
+    for (int cutoff : CUTOFFS) {
+      InplaceSort sorter = new ParallelMergeSort(cutoff);
+      for (int size = 0; size <= 5000; size += 37) {
+        verifySort(sorter, TestUtils.randomIntegerArray(size, -1000, 1000));
+      }
+    }
+  }
+
+  @Test
+  public void parallelQuickSort3_randomValues() {
+    for (int cutoff : CUTOFFS) {
+      InplaceSort sorter = new ParallelQuickSort3(cutoff);
+      for (int size = 0; size <= 5000; size += 37) {
+        verifySort(sorter, TestUtils.randomIntegerArray(size, -1000, 1000));
+      }
+    }
+  }
+
+  @Test
+  public void parallelSorts_largeArrayWithFewUniqueValues() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    int[] values = TestUtils.randomIntegerArray(200000, 0, 5);
+    verifySort(new ParallelMergeSort(pool, 128), values);
+    verifySort(new ParallelQuickSort3(pool, 128), values);
+    pool.shutdown();
+  }
+
+  @Test
+  public void parallelSorts_sortedAndReversedInput() {
+    int n = 100000;
+    int[] sorted = new int[n], reversed = new int[n];
+    for (int i = 0; i < n; i++) {
+      sorted[i] = i;
+      reversed[i] = n - i;
+    }
+    InplaceSort[] sorters = {new ParallelMergeSort(), new ParallelQuickSort3()};
+    for (InplaceSort sorter : sorters) {
+      verifySort(sorter, sorted);
+      verifySort(sorter, reversed);
+    }
+  }
+
+  @Test
+  public void parallelMergeSort_reusesScratchBuffer() {
+    int[] scratch = new int[1000];
+    for (int size = 0; size <= 1000; size += 50) {
+      int[] values = TestUtils.randomIntegerArray(size, Integer.MIN_VALUE, Integer.MAX_VALUE);
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      ParallelMergeSort.parallelMergeSort(values, scratch, ForkJoinPool.commonPool(), 16);
+      assertThat(values).isEqualTo(expected);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parallelMergeSort_scratchBufferTooSmall() {
+    ParallelMergeSort.parallelMergeSort(new int[10], new int[9], ForkJoinPool.commonPool(), 16);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parallelQuickSort3_invalidCutoff() {
+    new ParallelQuickSort3(0);
+  }
+
+  private static void verifySort(InplaceSort sorter, int[] values) {
+    int[] expected = values.clone();
+    int[] copy = values.clone();
+    Arrays.sort(expected);
+    sorter.sort(copy);
+    assertThat(copy).isEqualTo(expected);
+  }
+}
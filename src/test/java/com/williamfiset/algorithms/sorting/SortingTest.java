@@ -21,7 +21,10 @@ public class SortingTest {
     COUNTING_SORT(new CountingSort()),
     HEAP_SORT(new Heapsort()),
     INSERTION_SORT(new InsertionSort()),
+    LSD_RADIX_SORT(new LsdRadixSort()),
     MERGE_SORT(new MergeSort()),
+    PARALLEL_MERGE_SORT(new ParallelMergeSort(16)),
+    PARALLEL_QUICK_SORT3(new ParallelQuickSort3(16)),
     QUICK_SORT(new QuickSort()),
     QUICK_SORT3(new QuickSort3()),
     RADIX_SORT(new RadixSort()),
@@ -45,7 +48,10 @@ public class SortingTest {
           SortingAlgorithm.COUNTING_SORT,
           SortingAlgorithm.HEAP_SORT,
           SortingAlgorithm.INSERTION_SORT,
+          SortingAlgorithm.LSD_RADIX_SORT,
           SortingAlgorithm.MERGE_SORT,
+          SortingAlgorithm.PARALLEL_MERGE_SORT,
+          SortingAlgorithm.PARALLEL_QUICK_SORT3,
           SortingAlgorithm.QUICK_SORT,
           SortingAlgorithm.QUICK_SORT3,
           SortingAlgorithm.RADIX_SORT,
@@ -0,0 +1,76 @@
+package com.williamfiset.algorithms.strings;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class AhoCorasickTest {
+
+  static final Random rand = new Random();
+
+  // Returns every (pattern, start) pair ordered by end index, then by pattern length descending
+  // which is the order in which the automaton follows its output links
+  private static List<String> collect(AhoCorasick automaton, String text) {
+    List<String> matches = new ArrayList<>();
+    automaton.search(text, (pattern, start) -> matches.add(pattern + "@" + start));
+    return matches;
+  }
+
+  private static String randomString(int n, int alphabetSize) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < n; i++) sb.append((char) ('a' + rand.nextInt(alphabetSize)));
+    return sb.toString();
+  }
+
+  @Test
+  public void classicExample() {
+    AhoCorasick automaton = new AhoCorasick("he", "she", "his", "hers");
+    assertThat(collect(automaton, "ushers")).containsExactly("1@1", "0@2", "3@2").inOrder();
+    assertThat(automaton.countMatches("ushers")).isEqualTo(new int[] {1, 1, 0, 1});
+    assertThat(automaton.containsAny("ushers")).isTrue();
+    assertThat(automaton.containsAny("xyz")).isFalse();
+  }
+
+  @Test
+  public void overlappingAndDuplicatePatterns() {
+    AhoCorasick automaton = new AhoCorasick("a", "aa", "aaa", "aa");
+    assertThat(automaton.countMatches("aaaa")).isEqualTo(new int[] {4, 3, 2, 3});
+  }
+
+  @Test
+  public void charactersOutsidePatternsResetTheAutomaton() {
+    AhoCorasick automaton = new AhoCorasick("ab", "bé");
+    assertThat(automaton.countMatches("a☃abézbé")).isEqualTo(new int[] {1, 2});
+    assertThat(automaton.countMatches(null)).isEqualTo(new int[] {0, 0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyPatternsAreRejected() {
+    new AhoCorasick("abc", "");
+  }
+
+  @Test
+  public void matchesKmpOnRandomInputs() {
+    for (int loop = 0; loop < 200; loop++) {
+      int alphabetSize = 1 + rand.nextInt(4);
+      String[] patterns = new String[1 + rand.nextInt(20)];
+      for (int p = 0; p < patterns.length; p++) {
+        patterns[p] = randomString(1 + rand.nextInt(5), alphabetSize);
+      }
+      String text = randomString(rand.nextInt(300), alphabetSize + 1);
+
+      AhoCorasick automaton = new AhoCorasick(patterns);
+      int[] counts = automaton.countMatches(text);
+      boolean any = false;
+      for (int p = 0; p < patterns.length; p++) {
+        int expected = KMP.kmp(text, patterns[p]).size();
+        assertThat(counts[p]).isEqualTo(expected);
+        any |= expected > 0;
+      }
+      assertThat(automaton.containsAny(text)).isEqualTo(any);
+    }
+  }
+}
@@ -3,6 +3,8 @@ package com.williamfiset.algorithms.strings;
 import static com.google.common.truth.Truth.assertThat;
 import static java.util.Objects.isNull;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -75,6 +77,58 @@ public class BoyerMooreStringSearchTest {
     }
   }
 
+  @Test
+  public void byteSearchMatchesStringSearch() {
+    for (int run = 0; run < 200; run++) {
+      int upperChar = random.nextInt(3);
+      String text = generateRandomString(upperChar, random.nextInt(300));
+      // Covers both the word at a time scan (short patterns) and the skip table search
+      String pattern = generateRandomString(upperChar, 1 + random.nextInt(12));
+      byte[] textBytes = text.getBytes(StandardCharsets.ISO_8859_1);
+      byte[] patternBytes = pattern.getBytes(StandardCharsets.ISO_8859_1);
+      assertThat(underTest.findByteOccurrences(textBytes, patternBytes))
+          .containsExactlyElementsIn(getOccurrencesBruteForce(text, pattern))
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void byteSearchWithHighBytes() {
+    byte[] text = new byte[1000];
+    for (int i = 0; i < text.length; i++) text[i] = (byte) (0x80 | random.nextInt(2));
+    for (int length = 1; length < 20; length++) {
+      int start = random.nextInt(text.length - length);
+      byte[] pattern = java.util.Arrays.copyOfRange(text, start, start + length);
+      String s = new String(text, StandardCharsets.ISO_8859_1);
+      String p = new String(pattern, StandardCharsets.ISO_8859_1);
+      assertThat(underTest.findByteOccurrences(text, pattern))
+          .containsExactlyElementsIn(getOccurrencesBruteForce(s, p))
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void byteBufferIndexOf() {
+    byte[] bytes =
+        "xxabcxxxxxxxxxxabcxxxxxxxabcdefghijxabcdefghij".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    byte[] abc = "abc".getBytes(StandardCharsets.UTF_8);
+    byte[] long1 = "abcdefghij".getBytes(StandardCharsets.UTF_8);
+    assertThat(underTest.indexOf(direct, 0, abc)).isEqualTo(2);
+    assertThat(underTest.indexOf(direct, 3, abc)).isEqualTo(15);
+    assertThat(underTest.indexOf(direct, 0, long1)).isEqualTo(25);
+    assertThat(underTest.indexOf(direct, 26, long1)).isEqualTo(36);
+    assertThat(underTest.indexOf(direct, 37, long1)).isEqualTo(-1);
+    assertThat(underTest.indexOf(bytes, 16, abc)).isEqualTo(25);
+
+    // Only bytes up to the limit are searched and the position is left alone
+    direct.position(5).limit(27);
+    assertThat(underTest.indexOf(direct, 0, abc)).isEqualTo(2);
+    assertThat(underTest.indexOf(direct, 16, abc)).isEqualTo(-1);
+    assertThat(direct.position()).isEqualTo(5);
+  }
+
   /**
    * @param text the text being searched in
    * @param pattern the pattern that needs to be searched in text
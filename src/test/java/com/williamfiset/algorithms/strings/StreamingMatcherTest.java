@@ -0,0 +1,96 @@
+package com.williamfiset.algorithms.strings;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class StreamingMatcherTest {
+
+  static final Random rand = new Random();
+
+  private static String randomString(int n, int alphabetSize) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < n; i++) sb.append((char) ('a' + rand.nextInt(alphabetSize)));
+    return sb.toString();
+  }
+
+  private static List<Long> expected(String text, String pattern) {
+    List<Long> positions = new ArrayList<>();
+    for (int i : KMP.kmp(text, pattern)) positions.add((long) i);
+    return positions;
+  }
+
+  // Feeds the text in random sized chunks, alternating strings and byte buffers
+  private static void feedInChunks(StreamingMatcher matcher, String text) {
+    for (int i = 0; i < text.length(); ) {
+      int j = Math.min(text.length(), i + rand.nextInt(8));
+      String chunk = text.substring(i, j);
+      if (rand.nextBoolean()) {
+        matcher.feed(chunk);
+      } else {
+        // Surround the chunk with bytes which must not be read
+        byte[] bytes = ("##" + chunk + "##").getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, chunk.length());
+        matcher.feed(buffer);
+        assertThat(buffer.remaining()).isEqualTo(0);
+      }
+      i = j;
+    }
+    assertThat(matcher.getPosition()).isEqualTo((long) text.length());
+  }
+
+  @Test
+  public void matchesAcrossChunks() {
+    for (int loop = 0; loop < 500; loop++) {
+      int alphabetSize = 1 + rand.nextInt(3);
+      String pattern = randomString(1 + rand.nextInt(6), alphabetSize);
+      String text = randomString(rand.nextInt(200), alphabetSize);
+
+      List<Long> kmpMatches = new ArrayList<>(), horspoolMatches = new ArrayList<>();
+      StreamingMatcher kmp = StreamingMatcher.kmp(pattern, kmpMatches::add);
+      StreamingMatcher horspool =
+          StreamingMatcher.boyerMooreHorspool(pattern, horspoolMatches::add);
+      feedInChunks(kmp, text);
+      feedInChunks(horspool, text);
+      assertThat(kmpMatches).isEqualTo(expected(text, pattern));
+      assertThat(horspoolMatches).isEqualTo(expected(text, pattern));
+    }
+  }
+
+  @Test
+  public void charactersSharingALowByte() {
+    // 'ā' (0x101) shares its low byte with '\u0001', which must not be treated as equal
+    String pattern = "aāb";
+    String text = "a\u0001baābaāāb";
+    List<Long> matches = new ArrayList<>();
+    StreamingMatcher matcher = StreamingMatcher.boyerMooreHorspool(pattern, matches::add);
+    matcher.feed(text);
+    assertThat(matches).containsExactly(3L);
+  }
+
+  @Test
+  public void reset() {
+    List<Long> matches = new ArrayList<>();
+    StreamingMatcher[] matchers = {
+      StreamingMatcher.kmp("abc", matches::add),
+      StreamingMatcher.boyerMooreHorspool("abc", matches::add)
+    };
+    for (StreamingMatcher matcher : matchers) {
+      matches.clear();
+      matcher.feed("xxab");
+      matcher.reset();
+      matcher.feed("cabc");
+      assertThat(matches).containsExactly(1L);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyPatternIsRejected() {
+    StreamingMatcher.kmp("", start -> {});
+  }
+}
@@ -0,0 +1,84 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphFixtures.randomGraph;
+
+import com.williamfiset.algorithms.graphtheory.DijkstrasShortestPathAdjacencyListWithDHeap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.*;
+
+public class CsrGraphFileTest {
+
+  private static void assertSameGraph(CsrGraph a, CsrGraph b) {
+    assertThat(b.numNodes()).isEqualTo(a.numNodes());
+    assertThat(b.numEdges()).isEqualTo(a.numEdges());
+    assertThat(b.isWeighted()).isEqualTo(a.isWeighted());
+    for (int u = 0; u < a.numNodes(); u++) {
+      assertThat(b.start(u)).isEqualTo(a.start(u));
+      assertThat(b.end(u)).isEqualTo(a.end(u));
+    }
+    for (int e = 0; e < a.numEdges(); e++) {
+      assertThat(b.target(e)).isEqualTo(a.target(e));
+      assertThat(b.weight(e)).isEqualTo(a.weight(e));
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Path file = Files.createTempFile("csrgraph", ".bin");
+    try {
+      // Odd and even node and edge counts exercise the section padding
+      for (int[] size : new int[][] {{0, 0}, {1, 0}, {5, 7}, {6, 8}, {500, 3001}}) {
+        for (boolean weighted : new boolean[] {false, true}) {
+          CsrGraph graph = randomGraph(size[0], size[1], weighted, size[1]);
+          CsrGraphFile.write(graph, file);
+          assertSameGraph(graph, CsrGraphFile.map(file));
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testDijkstraOnMappedGraph() throws IOException {
+    CsrGraph graph = randomGraph(300, 2000, true, 42);
+    Path file = Files.createTempFile("csrgraph", ".bin");
+    try {
+      CsrGraphFile.write(graph, file);
+      CsrGraph mapped = CsrGraphFile.map(file);
+      double[] expected = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(graph, 0, null);
+      double[] actual = DijkstrasShortestPathAdjacencyListWithDHeap.dijkstra(mapped, 0, null);
+      assertThat(actual).isEqualTo(expected);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotAGraphFile() throws IOException {
+    Path file = Files.createTempFile("csrgraph", ".bin");
+    try {
+      Files.write(file, new byte[100]);
+      CsrGraphFile.map(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedFile() throws IOException {
+    Path file = Files.createTempFile("csrgraph", ".bin");
+    try {
+      CsrGraphFile.write(randomGraph(10, 20, true, 1), file);
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+      CsrGraphFile.map(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
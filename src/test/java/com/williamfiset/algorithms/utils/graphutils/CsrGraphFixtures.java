@@ -0,0 +1,50 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Graphs and a thread pool shared by the tests of the algorithms working on CsrGraphs
+public final class CsrGraphFixtures {
+
+  // The pool used by the tests of the parallel algorithms. There is only one for all the tests and
+  // its workers are daemon threads which exit once idle, so it is never shut down.
+  public static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  private CsrGraphFixtures() {}
+
+  // A directed graph with m random edges. Weights are multiples of 1/4 in [0, 25), which doubles
+  // add up exactly so distances computed in different orders can be compared with isEqualTo.
+  public static CsrGraph randomGraph(int n, int m, boolean weighted, long seed) {
+    Random random = new Random(seed);
+    int[] from = new int[m], to = new int[m];
+    double[] weights = weighted ? new double[m] : null;
+    for (int e = 0; e < m; e++) {
+      from[e] = random.nextInt(n);
+      to[e] = random.nextInt(n);
+      if (weighted) weights[e] = random.nextInt(100) / 4.0;
+    }
+    return CsrGraph.fromEdges(n, from, to, weights);
+  }
+
+  // An unweighted graph with m random edges going both ways
+  public static CsrGraph randomUndirectedGraph(int n, int m, long seed) {
+    Random random = new Random(seed);
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) builder.addUndirectedEdge(random.nextInt(n), random.nextInt(n));
+    return builder.build();
+  }
+
+  // A side x side grid whose undirected edges have random integer weights in [1, 5]
+  public static CsrGraph gridGraph(int side, long seed) {
+    Random random = new Random(seed);
+    CsrGraph.Builder builder = new CsrGraph.Builder(side * side);
+    for (int r = 0; r < side; r++) {
+      for (int c = 0; c < side; c++) {
+        int u = r * side + c;
+        if (c + 1 < side) builder.addUndirectedEdge(u, u + 1, 1 + random.nextInt(5));
+        if (r + 1 < side) builder.addUndirectedEdge(u, u + side, 1 + random.nextInt(5));
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class CsrGraphTest {
+
+  @Test
+  public void testFromEdgesKeepsEdgeOrder() {
+    int[] from = {2, 0, 2, 0, 1};
+    int[] to = {1, 2, 0, 1, 1};
+    double[] weights = {5, 1, 4, 2, 3};
+    CsrGraph g = CsrGraph.fromEdges(3, from, to, weights);
+    assertThat(g.numNodes()).isEqualTo(3);
+    assertThat(g.numEdges()).isEqualTo(5);
+    assertThat(g.isWeighted()).isTrue();
+    assertThat(g.outDegree(0)).isEqualTo(2);
+    assertThat(g.target(g.start(0))).isEqualTo(2);
+    assertThat(g.weight(g.start(0))).isEqualTo(1.0);
+    assertThat(g.target(g.start(0) + 1)).isEqualTo(1);
+    assertThat(g.target(g.start(2))).isEqualTo(1);
+    assertThat(g.weight(g.start(2) + 1)).isEqualTo(4.0);
+    assertThat(g.end(2)).isEqualTo(5);
+  }
+
+  @Test
+  public void testBuilderAndAdjacencyList() {
+    List<List<Integer>> list = Utils.createEmptyAdjacencyList(4);
+    Utils.addUndirectedEdge(list, 0, 1);
+    Utils.addDirectedEdge(list, 3, 2);
+    CsrGraph a = CsrGraph.fromAdjacencyList(list);
+    CsrGraph b = new CsrGraph.Builder(4).addUndirectedEdge(0, 1).addDirectedEdge(3, 2).build();
+    assertThat(b.isWeighted()).isFalse();
+    for (CsrGraph g : new CsrGraph[] {a, b}) {
+      assertThat(g.numEdges()).isEqualTo(3);
+      assertThat(g.outDegree(2)).isEqualTo(0);
+      assertThat(g.target(g.start(3))).isEqualTo(2);
+      assertThat(g.weight(0)).isEqualTo(1.0);
+    }
+    assertThat(new CsrGraph.Builder(2).addDirectedEdge(0, 1, 2.5).build().isWeighted()).isTrue();
+  }
+
+  @Test
+  public void testTranspose() {
+    Random random = new Random();
+    int n = 50, m = 300;
+    int[] from = new int[m], to = new int[m];
+    double[] weights = new double[m];
+    for (int e = 0; e < m; e++) {
+      from[e] = random.nextInt(n);
+      to[e] = random.nextInt(n);
+      weights[e] = random.nextInt(100);
+    }
+    CsrGraph g = CsrGraph.fromEdges(n, from, to, weights);
+    CsrGraph t = g.transpose();
+    assertThat(t.numEdges()).isEqualTo(m);
+    Map<String, Integer> edges = new HashMap<>();
+    for (int u = 0; u < n; u++) {
+      for (int e = g.start(u); e < g.end(u); e++) {
+        edges.merge(u + ">" + g.target(e) + ":" + g.weight(e), 1, Integer::sum);
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      for (int e = t.start(v); e < t.end(v); e++) {
+        edges.merge(t.target(e) + ">" + v + ":" + t.weight(e), -1, Integer::sum);
+      }
+    }
+    for (int count : edges.values()) assertThat(count).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEdgeOutOfBounds() {
+    CsrGraph.fromEdges(2, new int[] {0}, new int[] {2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInconsistentOffsets() {
+    new CsrGraph(new int[] {0, 2, 1}, new int[] {0}, null);
+  }
+
+  @Test
+  public void testArraysAreCopied() {
+    int[] offsets = {0, 1, 1};
+    int[] targets = {1};
+    double[] weights = {2.5};
+    CsrGraph graph = new CsrGraph(offsets, targets, weights);
+    offsets[1] = 0;
+    targets[0] = 0;
+    weights[0] = 7;
+    assertThat(graph.outDegree(0)).isEqualTo(1);
+    assertThat(graph.target(0)).isEqualTo(1);
+    assertThat(graph.weight(0)).isEqualTo(2.5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullArrays() {
+    new CsrGraph(null, new int[0], null);
+  }
+}